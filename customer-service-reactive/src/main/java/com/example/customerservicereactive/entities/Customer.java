@@ -0,0 +1,26 @@
+package com.example.customerservicereactive.entities;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the customer table. The bean validation constraints are the
+ * ones of customer-service's JPA {@code Customer} entity and must be kept in
+ * sync with it: they are checked by the service before every write since
+ * R2DBC, unlike JPA, does not validate entities on its own.
+ */
+@Table("customer")
+@NoArgsConstructor @AllArgsConstructor @Getter @Setter @Builder @ToString
+public class Customer {
+    @Id
+    private Long id;
+    @NotEmpty @Size(min = 3)
+    private String firstName;
+    @NotEmpty @Size (min = 3)
+    private String lastName;
+    @NotEmpty @Size (min = 5)
+    private String email;
+}
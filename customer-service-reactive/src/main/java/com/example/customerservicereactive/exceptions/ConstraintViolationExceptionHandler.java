@@ -0,0 +1,21 @@
+package com.example.customerservicereactive.exceptions;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.*;
+
+@ControllerAdvice
+public class ConstraintViolationExceptionHandler {
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Map<String, List<String>>> handleValidationErrors(ConstraintViolationException exception){
+        Map<String, List<String>> listMap=new HashMap<>();
+        for (ConstraintViolation<?> cv : exception.getConstraintViolations()) {
+            listMap.computeIfAbsent(cv.getPropertyPath().toString(), p -> new ArrayList<>()).add(cv.getMessage());
+        }
+        return ResponseEntity.badRequest().body(listMap);
+    }
+}
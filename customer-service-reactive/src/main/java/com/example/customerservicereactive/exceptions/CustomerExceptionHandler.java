@@ -0,0 +1,24 @@
+package com.example.customerservicereactive.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Same 409 response as customer-service's CustomerExceptionHandler, built once.
+ */
+@ControllerAdvice
+public class CustomerExceptionHandler {
+    public static final ResponseEntity<Object> EMAIL_ALREADY_EXIST = ResponseEntity.status(HttpStatus.CONFLICT)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body("{\"email\":[\"This email already exist\"]}".getBytes(StandardCharsets.UTF_8));
+
+    @ExceptionHandler(EmailAlreadyExistException.class)
+    public ResponseEntity<Object> handleEmailAlreadyExist(){
+        return EMAIL_ALREADY_EXIST;
+    }
+}
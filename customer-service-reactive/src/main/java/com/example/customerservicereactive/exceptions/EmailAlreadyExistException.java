@@ -0,0 +1,4 @@
+package com.example.customerservicereactive.exceptions;
+
+public class EmailAlreadyExistException extends RuntimeException {
+}
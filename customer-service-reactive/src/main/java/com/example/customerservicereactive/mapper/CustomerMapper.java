@@ -0,0 +1,18 @@
+package com.example.customerservicereactive.mapper;
+
+import com.example.customerservicereactive.dto.CustomerDTO;
+import com.example.customerservicereactive.entities.Customer;
+import org.modelmapper.ModelMapper;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CustomerMapper {
+    private ModelMapper modelMapper=new ModelMapper();
+
+    public CustomerDTO fromCustomer(Customer customer){
+        return modelMapper.map(customer, CustomerDTO.class);
+    }
+    public Customer fromCustomerDTO(CustomerDTO customerDTO){
+        return modelMapper.map(customerDTO, Customer.class);
+    }
+}
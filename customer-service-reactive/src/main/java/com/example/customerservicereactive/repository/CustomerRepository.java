@@ -0,0 +1,11 @@
+package com.example.customerservicereactive.repository;
+
+import com.example.customerservicereactive.entities.Customer;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface CustomerRepository extends ReactiveCrudRepository<Customer,Long> {
+    Flux<Customer> findByFirstNameContainingIgnoreCase(String keyword);
+    Mono<Customer> findByEmail(String email);
+}
@@ -0,0 +1,14 @@
+package com.example.customerservicereactive.service;
+
+import com.example.customerservicereactive.dto.CustomerDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface CustomerService {
+    Mono<CustomerDTO> saveNewCustomer(CustomerDTO customerDTO);
+    Flux<CustomerDTO> getAllCustomers();
+    Mono<CustomerDTO> findCustomerById(Long id);
+    Flux<CustomerDTO> searchCustomers(String keyword);
+    Mono<CustomerDTO> updateCustomer(Long id, CustomerDTO customerDTO);
+    Mono<Void> deleteCustomer(Long id);
+}
@@ -0,0 +1,90 @@
+package com.example.customerservicereactive.service;
+
+import com.example.customerservicereactive.dto.CustomerDTO;
+import com.example.customerservicereactive.entities.Customer;
+import com.example.customerservicereactive.exceptions.CustomerNotFoundException;
+import com.example.customerservicereactive.exceptions.EmailAlreadyExistException;
+import com.example.customerservicereactive.mapper.CustomerMapper;
+import com.example.customerservicereactive.repository.CustomerRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+@Service
+@Transactional
+@Slf4j
+public class CustomerServiceImpl implements CustomerService {
+    private CustomerMapper customerMapper;
+    private CustomerRepository customerRepository;
+    private Validator validator;
+
+    public CustomerServiceImpl(CustomerMapper customerMapper, CustomerRepository customerRepository, Validator validator) {
+        this.customerMapper = customerMapper;
+        this.customerRepository = customerRepository;
+        this.validator = validator;
+    }
+
+    @Override
+    public Mono<CustomerDTO> saveNewCustomer(CustomerDTO customerDTO) {
+        log.info("Saving new Customer => {}", customerDTO);
+        Customer customerToSave = customerMapper.fromCustomerDTO(customerDTO);
+        return validate(customerToSave)
+                .then(customerRepository.findByEmail(customerDTO.getEmail()).hasElement())
+                .flatMap(exists -> {
+                    if (exists) {
+                        log.error("This email {} already exist", customerDTO.getEmail());
+                        return Mono.<Customer>error(new EmailAlreadyExistException());
+                    }
+                    return customerRepository.save(customerToSave);
+                })
+                .map(customerMapper::fromCustomer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<CustomerDTO> getAllCustomers() {
+        return customerRepository.findAll().map(customerMapper::fromCustomer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<CustomerDTO> findCustomerById(Long id) {
+        return customerRepository.findById(id)
+                .switchIfEmpty(Mono.error(CustomerNotFoundException::new))
+                .map(customerMapper::fromCustomer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<CustomerDTO> searchCustomers(String keyword) {
+        return customerRepository.findByFirstNameContainingIgnoreCase(keyword).map(customerMapper::fromCustomer);
+    }
+
+    @Override
+    public Mono<CustomerDTO> updateCustomer(Long id, CustomerDTO customerDTO) {
+        customerDTO.setId(id);
+        Customer customerToUpdate = customerMapper.fromCustomerDTO(customerDTO);
+        return customerRepository.existsById(id)
+                .flatMap(exists -> exists ? validate(customerToUpdate) : Mono.<Void>error(new CustomerNotFoundException()))
+                .then(Mono.defer(() -> customerRepository.save(customerToUpdate)))
+                .map(customerMapper::fromCustomer);
+    }
+
+    @Override
+    public Mono<Void> deleteCustomer(Long id) {
+        return customerRepository.existsById(id)
+                .flatMap(exists -> exists ? customerRepository.deleteById(id) : Mono.<Void>error(new CustomerNotFoundException()));
+    }
+
+    private Mono<Void> validate(Customer customer) {
+        Set<ConstraintViolation<Customer>> violations = validator.validate(customer);
+        return violations.isEmpty() ? Mono.empty() : Mono.error(new ConstraintViolationException(violations));
+    }
+}
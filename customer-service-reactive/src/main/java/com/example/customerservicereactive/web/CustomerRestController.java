@@ -0,0 +1,52 @@
+package com.example.customerservicereactive.web;
+
+import com.example.customerservicereactive.dto.CustomerDTO;
+import com.example.customerservicereactive.service.CustomerService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same {@code /api/customers} contract as customer-service's
+ * CustomerRestController. List and search results are streamed from the
+ * database as the client reads them, either as a JSON array or, with
+ * {@code Accept: application/x-ndjson}, one customer per line.
+ */
+@RestController
+@RequestMapping("/api")
+public class CustomerRestController {
+    private CustomerService customerService;
+
+    public CustomerRestController(CustomerService customerService) {
+        this.customerService = customerService;
+    }
+    @GetMapping(value = "/customers", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CustomerDTO> getAllCustomers(){
+        return customerService.getAllCustomers();
+    }
+    @GetMapping("/customers/{id}")
+    public Mono<CustomerDTO> getCustomerById(@PathVariable Long id){
+        return customerService.findCustomerById(id);
+    }
+    @GetMapping(value = "/customers/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CustomerDTO> searchCustomers(@RequestParam String keyword){
+        return customerService.searchCustomers(keyword);
+    }
+    @PostMapping("/customers")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<CustomerDTO> saveCustomer(@RequestBody @Valid CustomerDTO customerDTO){
+        return customerService.saveNewCustomer(customerDTO);
+    }
+    @PutMapping("/customers/{id}")
+    public Mono<CustomerDTO> updateCustomer(@PathVariable Long id,@RequestBody CustomerDTO customerDTO){
+        return customerService.updateCustomer(id,customerDTO);
+    }
+    @DeleteMapping("/customers/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteCustomer(@PathVariable Long id){
+        return customerService.deleteCustomer(id);
+    }
+}
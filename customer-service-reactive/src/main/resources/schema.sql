@@ -0,0 +1,7 @@
+create table if not exists customer
+(
+    id         bigint auto_increment primary key,
+    first_name varchar(255) not null,
+    last_name  varchar(255) not null,
+    email      varchar(255) not null unique
+);
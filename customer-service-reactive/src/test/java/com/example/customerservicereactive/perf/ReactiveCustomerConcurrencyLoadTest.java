@@ -0,0 +1,109 @@
+package com.example.customerservicereactive.perf;
+
+import com.example.customerservice.perf.ConcurrencyComparison;
+import com.example.customerservice.perf.ConcurrencyLoadRunner;
+import com.example.customerservicereactive.entities.Customer;
+import com.example.customerservicereactive.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * High concurrency run of the reactive stack, the counterpart of
+ * customer-service's {@code CustomerConcurrencyLoadTest}: same workload, and
+ * the same runner, taken from the customer-service test-jar
+ * ({@code target/perf/reactive-concurrency.json}). When the servlet results are
+ * already there, both runs are compared into
+ * {@code target/perf/concurrency-comparison.json}. Run with
+ * {@code mvn -Pperf test} in both modules, after {@code mvn install} of
+ * customer-service.
+ */
+@Tag("perf")
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.example.customerservicereactive=WARN")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReactiveCustomerConcurrencyLoadTest {
+    private final int datasetSize = Integer.getInteger("perf.concurrency.dataset.size", 2_000);
+    private final int clients = Integer.getInteger("perf.concurrency.clients", 512);
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("perf.concurrency.seconds", 20));
+    private final double minThroughputRatio = Double.parseDouble(
+            System.getProperty("perf.concurrency.min-throughput-ratio", "0"));
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    private List<Long> ids;
+
+    @BeforeAll
+    void seedDataset() {
+        List<Customer> customers = new ArrayList<>(datasetSize);
+        for (int i = 0; i < datasetSize; i++) {
+            customers.add(Customer.builder()
+                    .firstName("Customer" + i).lastName("Seeded").email("customer" + i + "@load.test").build());
+        }
+        ids = customerRepository.deleteAll()
+                .thenMany(customerRepository.saveAll(customers))
+                .map(Customer::getId)
+                .collectList()
+                .block();
+    }
+
+    @Test
+    void shouldServeHighConcurrency() throws Exception {
+        Map<String, Object> result = ConcurrencyLoadRunner.run("reactive", datasetSize, clients, duration,
+                new ConcurrencyLoadRunner.Operation("getById", 60, 200,
+                        () -> get("/api/customers/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())))),
+                new ConcurrencyLoadRunner.Operation("search", 25, 200,
+                        () -> get("/api/customers/search?keyword=" + ThreadLocalRandom.current().nextInt(datasetSize))),
+                new ConcurrencyLoadRunner.Operation("list", 5, 200, () -> get("/api/customers")),
+                new ConcurrencyLoadRunner.Operation("create", 10, 201, () -> {
+                    long n = emailSequence.incrementAndGet();
+                    return HttpRequest.newBuilder(uri("/api/customers"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"firstName\":\"Created" + n
+                                    + "\",\"lastName\":\"Load\",\"email\":\"created" + n + "@load.test\"}"))
+                            .build();
+                }));
+        Path resultsFile = Path.of(System.getProperty("perf.concurrency.results.file", "target/perf/reactive-concurrency.json"));
+        Files.createDirectories(resultsFile.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(resultsFile.toFile(), result);
+        assertThat((double) result.get("throughputPerSecond")).isPositive();
+
+        Path mvcResults = Path.of(System.getProperty("perf.concurrency.mvc.results.file",
+                "../customer-service/target/perf/mvc-concurrency.json"));
+        ConcurrencyComparison.compare(mvcResults, resultsFile, resultsFile.resolveSibling("concurrency-comparison.json"))
+                .ifPresent(comparison -> comparison.assertReactiveKeepsUp(minThroughputRatio));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.customerservicereactive.repository;
+
+import com.example.customerservicereactive.entities.Customer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+@ActiveProfiles("test")
+@DataR2dbcTest
+class CustomerRepositoryTest {
+    @Autowired
+    CustomerRepository customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.deleteAll()
+                .thenMany(customerRepository.saveAll(List.of(
+                        Customer.builder().firstName("Mohamed").lastName("Youssfi").email("med@gmail.com").build(),
+                        Customer.builder().firstName("Ahmed").lastName("Yassine").email("ahmed@gmail.com").build(),
+                        Customer.builder().firstName("Hanane").lastName("yamal").email("hanane@gmail.com").build())))
+                .blockLast();
+    }
+
+    @Test
+    void shouldFindCustomersByFirstName() {
+        StepVerifier.create(customerRepository.findByFirstNameContainingIgnoreCase("m").map(Customer::getFirstName))
+                .expectNext("Mohamed", "Ahmed")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFindCustomersByEmail() {
+        StepVerifier.create(customerRepository.findByEmail("med@gmail.com").map(Customer::getLastName))
+                .expectNext("Youssfi")
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotFindCustomersByEmail() {
+        StepVerifier.create(customerRepository.findByEmail("xxx@gmail.com"))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.customerservicereactive.service;
+
+import com.example.customerservicereactive.dto.CustomerDTO;
+import com.example.customerservicereactive.entities.Customer;
+import com.example.customerservicereactive.exceptions.CustomerNotFoundException;
+import com.example.customerservicereactive.exceptions.EmailAlreadyExistException;
+import com.example.customerservicereactive.mapper.CustomerMapper;
+import com.example.customerservicereactive.repository.CustomerRepository;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class CustomerServiceImplTest {
+    private final CustomerRepository customerRepository = Mockito.mock(CustomerRepository.class);
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final CustomerServiceImpl underTest = new CustomerServiceImpl(new CustomerMapper(), customerRepository, validator);
+
+    @Test
+    void shouldSaveNewCustomer() {
+        CustomerDTO customerDTO = CustomerDTO.builder().firstName("Ismail").lastName("Matar").email("ismail@gmail.com").build();
+        Customer savedCustomer = Customer.builder().id(1L).firstName("Ismail").lastName("Matar").email("ismail@gmail.com").build();
+        Mockito.when(customerRepository.findByEmail("ismail@gmail.com")).thenReturn(Mono.empty());
+        Mockito.when(customerRepository.save(Mockito.any())).thenReturn(Mono.just(savedCustomer));
+        StepVerifier.create(underTest.saveNewCustomer(customerDTO).map(CustomerDTO::getId))
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldNotSaveNewCustomerWhenEmailExist() {
+        CustomerDTO customerDTO = CustomerDTO.builder().firstName("Ismail").lastName("Matar").email("xxxxx@gmail.com").build();
+        Mockito.when(customerRepository.findByEmail("xxxxx@gmail.com"))
+                .thenReturn(Mono.just(Customer.builder().id(5L).email("xxxxx@gmail.com").build()));
+        StepVerifier.create(underTest.saveNewCustomer(customerDTO))
+                .expectError(EmailAlreadyExistException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldApplyCustomerValidationRules() {
+        CustomerDTO customerDTO = CustomerDTO.builder().firstName("Is").lastName("Matar").email("x@y").build();
+        Mockito.when(customerRepository.findByEmail(Mockito.any())).thenReturn(Mono.empty());
+        StepVerifier.create(underTest.saveNewCustomer(customerDTO))
+                .expectError(ConstraintViolationException.class)
+                .verify();
+        Mockito.verify(customerRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    void shouldNotDeleteCustomerIfNotExist() {
+        Mockito.when(customerRepository.existsById(9L)).thenReturn(Mono.just(false));
+        StepVerifier.create(underTest.deleteCustomer(9L))
+                .expectError(CustomerNotFoundException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.customerservicereactive.web;
+
+import com.example.customerservicereactive.dto.CustomerDTO;
+import com.example.customerservicereactive.exceptions.CustomerNotFoundException;
+import com.example.customerservicereactive.exceptions.EmailAlreadyExistException;
+import com.example.customerservicereactive.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@ActiveProfiles("test")
+@WebFluxTest(CustomerRestController.class)
+class CustomerRestControllerTest {
+    @MockBean
+    private CustomerService customerService;
+    @Autowired
+    private WebTestClient webTestClient;
+
+    List<CustomerDTO> customers;
+
+    @BeforeEach
+    void setUp() {
+        this.customers = List.of(
+                CustomerDTO.builder().id(1L).firstName("Mohamed").lastName("Youssfi").email("med@gmail.com").build() ,
+                CustomerDTO.builder().id(2L).firstName("Imane").lastName("Tawil").email("imane@gmail.com").build(),
+                CustomerDTO.builder().id(3L).firstName("yasmine").lastName("Ibrahimi").email("yasmine@gmail.com").build()
+        );
+    }
+
+    @Test
+    void shouldGetAllCustomers() {
+        Mockito.when(customerService.getAllCustomers()).thenReturn(Flux.fromIterable(customers));
+        webTestClient.get().uri("/api/customers").exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CustomerDTO.class).hasSize(3);
+    }
+
+    @Test
+    void shouldStreamCustomersAsNdjson() {
+        Mockito.when(customerService.getAllCustomers()).thenReturn(Flux.fromIterable(customers));
+        webTestClient.get().uri("/api/customers").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(CustomerDTO.class).hasSize(3);
+    }
+
+    @Test
+    void shouldGetCustomerById() {
+        Mockito.when(customerService.findCustomerById(1L)).thenReturn(Mono.just(customers.get(0)));
+        webTestClient.get().uri("/api/customers/{id}", 1L).exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.email").isEqualTo("med@gmail.com");
+    }
+
+    @Test
+    void shouldNotGetCustomerByInvalidId() {
+        Mockito.when(customerService.findCustomerById(9L)).thenReturn(Mono.error(new CustomerNotFoundException()));
+        webTestClient.get().uri("/api/customers/{id}", 9L).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void shouldSaveCustomer() {
+        Mockito.when(customerService.saveNewCustomer(Mockito.any())).thenReturn(Mono.just(customers.get(0)));
+        webTestClient.post().uri("/api/customers").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(customers.get(0)).exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("$.id").isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotSaveCustomerWhenEmailExist() {
+        Mockito.when(customerService.saveNewCustomer(Mockito.any())).thenReturn(Mono.error(new EmailAlreadyExistException()));
+        webTestClient.post().uri("/api/customers").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(customers.get(0)).exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody().jsonPath("$.email[0]").isEqualTo("This email already exist");
+    }
+
+    @Test
+    void shouldDeleteCustomer() {
+        Mockito.when(customerService.deleteCustomer(1L)).thenReturn(Mono.empty());
+        webTestClient.delete().uri("/api/customers/{id}", 1L).exchange()
+                .expectStatus().isNoContent();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.customerservice.dto;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@NoArgsConstructor @AllArgsConstructor @Getter @Setter @Builder @ToString
+public class CustomerStatisticsDTO {
+    private long totalCustomers;
+    private List<DomainCount> topEmailDomains;
+    private long createdLastMinute;
+    private double creationRatePerSecond;
+    private Instant lastReconciledAt;
+
+    @NoArgsConstructor @AllArgsConstructor @Getter @Setter @ToString
+    public static class DomainCount {
+        private String domain;
+        private long count;
+    }
+}
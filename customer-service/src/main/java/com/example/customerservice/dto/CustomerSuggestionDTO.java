@@ -0,0 +1,9 @@
+package com.example.customerservice.dto;
+
+import lombok.*;
+
+@NoArgsConstructor @AllArgsConstructor @Getter @Setter @Builder @ToString
+public class CustomerSuggestionDTO {
+    private Long id;
+    private String label;
+}
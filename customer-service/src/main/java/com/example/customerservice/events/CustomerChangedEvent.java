@@ -0,0 +1,32 @@
+package com.example.customerservice.events;
+
+import com.example.customerservice.dto.CustomerDTO;
+
+/**
+ * Published by the customer service for every write, delivered to listeners
+ * once the transaction committed. {@code customer} is the new state (null when
+ * deleted) and {@code previousEmail} the email before the write (null when
+ * created).
+ */
+public record CustomerChangedEvent(Long customerId, String previousEmail, CustomerDTO customer) {
+
+    public static CustomerChangedEvent created(CustomerDTO customer) {
+        return new CustomerChangedEvent(customer.getId(), null, customer);
+    }
+
+    public static CustomerChangedEvent updated(String previousEmail, CustomerDTO customer) {
+        return new CustomerChangedEvent(customer.getId(), previousEmail, customer);
+    }
+
+    public static CustomerChangedEvent deleted(Long customerId, String previousEmail) {
+        return new CustomerChangedEvent(customerId, previousEmail, null);
+    }
+
+    public boolean isCreated() {
+        return previousEmail == null && customer != null;
+    }
+
+    public boolean isDeleted() {
+        return customer == null;
+    }
+}
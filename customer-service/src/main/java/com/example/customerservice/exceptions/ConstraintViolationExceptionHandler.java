@@ -12,15 +12,17 @@ import java.util.*;
 public class ConstraintViolationExceptionHandler {
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<Map<String, List<String>>> handleValidationErrors(ConstraintViolationException exception){
-        Set<ConstraintViolation<?>> constraintViolations = exception.getConstraintViolations();
-        Map<String, List<String>> listMap=new HashMap<>();
-        constraintViolations.forEach(cv->{
-            List<String> fieldErrors = listMap.get(cv.getPropertyPath().toString());
-            if(fieldErrors==null){
-                listMap.put(cv.getPropertyPath().toString(),new ArrayList<>());
-            }
-            listMap.get(cv.getPropertyPath().toString()).add(cv.getMessage());
-        });
+        return badRequest(exception.getConstraintViolations());
+    }
+
+    /**
+     * The messages of the violations grouped by property, as answered for an
+     * invalid customer whether the violations come as a result or as an exception.
+     */
+    public static ResponseEntity<Map<String, List<String>>> badRequest(Set<? extends ConstraintViolation<?>> constraintViolations){
+        Map<String, List<String>> listMap=new HashMap<>(constraintViolations.size() * 2);
+        constraintViolations.forEach(cv->
+                listMap.computeIfAbsent(cv.getPropertyPath().toString(), path->new ArrayList<>(2)).add(cv.getMessage()));
         return ResponseEntity.badRequest().body(listMap);
     }
 }
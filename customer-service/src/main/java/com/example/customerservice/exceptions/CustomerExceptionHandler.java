@@ -0,0 +1,32 @@
+package com.example.customerservice.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The 404 and 409 responses of the customer API, built once. The controller
+ * returns them for failed results, and the handlers below return the very
+ * same responses when the failure surfaces as an exception instead.
+ */
+@ControllerAdvice
+public class CustomerExceptionHandler {
+    public static final ResponseEntity<Object> NOT_FOUND = ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    public static final ResponseEntity<Object> EMAIL_ALREADY_EXIST = ResponseEntity.status(HttpStatus.CONFLICT)
+            .contentType(MediaType.APPLICATION_JSON)
+            .body("{\"email\":[\"This email already exist\"]}".getBytes(StandardCharsets.UTF_8));
+
+    @ExceptionHandler(CustomerNotFoundException.class)
+    public ResponseEntity<Object> handleCustomerNotFound(){
+        return NOT_FOUND;
+    }
+
+    @ExceptionHandler(EmailAlreadyExistException.class)
+    public ResponseEntity<Object> handleEmailAlreadyExist(){
+        return EMAIL_ALREADY_EXIST;
+    }
+}
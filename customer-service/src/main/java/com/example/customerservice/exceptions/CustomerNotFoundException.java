@@ -1,8 +1,13 @@
 package com.example.customerservice.exceptions;
 
-import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.annotation.ResponseStatus;
-
-@ResponseStatus(HttpStatus.NOT_FOUND)
+/**
+ * Stackless: a missing customer is a routine outcome, not a bug, so the
+ * exception neither captures a stack trace nor needs a fresh instance.
+ */
 public class CustomerNotFoundException extends RuntimeException {
+    public static final CustomerNotFoundException INSTANCE = new CustomerNotFoundException();
+
+    public CustomerNotFoundException() {
+        super(null, null, false, false);
+    }
 }
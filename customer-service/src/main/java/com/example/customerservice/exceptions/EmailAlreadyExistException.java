@@ -1,4 +1,12 @@
 package com.example.customerservice.exceptions;
 
+/**
+ * Stackless, see {@link CustomerNotFoundException}.
+ */
 public class EmailAlreadyExistException extends RuntimeException {
+    public static final EmailAlreadyExistException INSTANCE = new EmailAlreadyExistException();
+
+    public EmailAlreadyExistException() {
+        super(null, null, false, false);
+    }
 }
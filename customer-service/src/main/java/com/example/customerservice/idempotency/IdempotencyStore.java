@@ -0,0 +1,166 @@
+package com.example.customerservice.idempotency;
+
+import com.example.customerservice.exceptions.IdempotencyKeyReusedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the response of a request per {@code Idempotency-Key} so that a
+ * client retry is answered from memory instead of running the request again.
+ * The store is bounded (oldest keys are evicted first) and keys expire after
+ * the configured TTL. Concurrent requests with the same key wait for the first
+ * one instead of racing it; only successful responses are remembered.
+ */
+@Component
+public class IdempotencyStore {
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long waitTimeoutNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public IdempotencyStore(@Value("${customer.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${customer.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${customer.idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        this(maxEntries, ttl, waitTimeout, System::nanoTime);
+    }
+
+    IdempotencyStore(int maxEntries, Duration ttl, Duration waitTimeout, LongSupplier nanoClock) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Runs {@code action} once per key and replays its result for later calls
+     * with the same key and the same request {@code fingerprint}.
+     *
+     * @throws IdempotencyKeyReusedException when the key was used for a different request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, String fingerprint, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key");
+        }
+        while (true) {
+            Entry stored = lookup(key);
+            if (stored != null) return (T) stored.replay(fingerprint);
+            InFlight mine = new InFlight(fingerprint);
+            InFlight running = inFlight.putIfAbsent(key, mine);
+            if (running != null) {
+                if (!running.fingerprint.equals(fingerprint)) throw new IdempotencyKeyReusedException();
+                // once the first request is done, either its response is stored or it
+                // failed and this request runs as a retry in its own right
+                await(running);
+                continue;
+            }
+            try {
+                stored = lookup(key);
+                if (stored != null) return (T) stored.replay(fingerprint);
+                T result = action.get();
+                store(key, new Entry(fingerprint, result, nanoClock.getAsLong() + ttlNanos));
+                mine.done.complete(null);
+                return result;
+            } catch (RuntimeException | Error e) {
+                mine.done.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+    }
+
+    /**
+     * Fingerprint of a request made of the given fields. Each field is length
+     * prefixed, so that neither a separator inside a value nor a null can make
+     * two different requests look the same.
+     */
+    public static String fingerprint(Object... fields) {
+        StringBuilder fingerprint = new StringBuilder();
+        for (Object field : fields) {
+            if (field == null) {
+                fingerprint.append("-;");
+            } else {
+                String value = field.toString();
+                fingerprint.append(value.length()).append(':').append(value).append(';');
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized Entry lookup(String key) {
+        evictExpired();
+        return entries.get(key);
+    }
+
+    private synchronized void store(String key, Entry entry) {
+        entries.remove(key);
+        entries.put(key, entry);
+        while (entries.size() > maxEntries) {
+            Iterator<String> eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private void evictExpired() {
+        long now = nanoClock.getAsLong();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().expiresAt - now <= 0) {
+            iterator.remove();
+        }
+    }
+
+    private void await(InFlight running) {
+        try {
+            running.done.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // the outcome of the first request is not remembered
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    private record Entry(String fingerprint, Object response, long expiresAt) {
+        Object replay(String requestFingerprint) {
+            if (!fingerprint.equals(requestFingerprint)) throw new IdempotencyKeyReusedException();
+            return response;
+        }
+    }
+
+    private static final class InFlight {
+        private final String fingerprint;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private InFlight(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.customerservice.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lets at most {@code permits} log events of one kind through per interval,
+ * so that a burst of identical errors (a client retrying a duplicate email,
+ * say) cannot flood the appender. Suppressed events are counted and reported
+ * with the next event that gets through:
+ * <pre>
+ * long suppressed = limiter.tryAcquire();
+ * if (suppressed >= 0) log.warn("... ({} similar messages suppressed)", ..., suppressed);
+ * </pre>
+ * Window boundaries are approximate under contention, which is fine for logging.
+ */
+public class LogRateLimiter {
+    private final int permits;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong windowStart;
+    private final AtomicInteger used = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+
+    public LogRateLimiter(int permits, Duration interval) {
+        this(permits, interval, System::nanoTime);
+    }
+
+    LogRateLimiter(int permits, Duration interval, LongSupplier nanoClock) {
+        this.permits = permits;
+        this.intervalNanos = interval.toNanos();
+        this.nanoClock = nanoClock;
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * @return {@code -1} when the event must be dropped, otherwise the number of
+     * events dropped since the last one that got through
+     */
+    public long tryAcquire() {
+        long now = nanoClock.getAsLong();
+        long start = windowStart.get();
+        if (now - start >= intervalNanos && windowStart.compareAndSet(start, now)) {
+            used.set(0);
+        }
+        if (used.incrementAndGet() <= permits) {
+            return suppressed.sumThenReset();
+        }
+        suppressed.increment();
+        return -1;
+    }
+}
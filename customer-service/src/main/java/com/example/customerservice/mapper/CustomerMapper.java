@@ -6,6 +6,7 @@ import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,6 +19,13 @@ public class CustomerMapper {
     public Customer fromCustomerDTO(CustomerDTO customerDTO){
         return modelMapper.map(customerDTO, Customer.class);
     }
+    /**
+     * Emails are compared, fingerprinted and stored trimmed and lower-cased,
+     * so that {@code Med@Gmail.com} and {@code med@gmail.com} are one customer.
+     */
+    public static String normalizeEmail(String email){
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
     public List<CustomerDTO> fromListCustomers(List<Customer> customers){
         return customers.stream().map(c->modelMapper.map(c, CustomerDTO.class)).collect(Collectors.toList());
     }
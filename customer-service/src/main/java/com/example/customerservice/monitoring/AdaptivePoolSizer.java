@@ -0,0 +1,122 @@
+package com.example.customerservice.monitoring;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Periodically resizes the main Hikari pool within
+ * {@code customer.pool.adaptive.min-size/max-size}, see {@link PoolSizingPolicy}.
+ * Enabled with {@code customer.pool.adaptive.enabled=true}.
+ * <p>
+ * Growing only raises the limits, Hikari opens the connections on demand.
+ * Shrinking takes effect lazily: the pool's connections are soft evicted,
+ * the idle ones are closed right away and the busy ones when they are
+ * returned, and Hikari then refills the pool up to the new minimum idle.
+ * A pool configured with a fixed size ({@code minimumIdle == maximumPoolSize})
+ * stays fixed at its new size; otherwise the configured minimum idle is kept
+ * as long as it fits.
+ */
+@Component
+@ConditionalOnProperty(name = "customer.pool.adaptive.enabled", havingValue = "true")
+@Slf4j
+public class AdaptivePoolSizer {
+    private final HikariDataSource pool;
+    private final ConnectionPoolMetrics poolMetrics;
+    private final SqlStatementRecorder recorder;
+    private final PoolSizingPolicy policy;
+    private final int configuredMinimumIdle;
+    private final boolean fixedSize;
+    private Counters previous;
+    private PoolSizingPolicy.Sample lastSample;
+    private long resizes;
+
+    public AdaptivePoolSizer(DataSource dataSource, ConnectionPoolMetrics poolMetrics, SqlStatementRecorder recorder,
+                             @Value("${customer.pool.adaptive.min-size:5}") int minSize,
+                             @Value("${customer.pool.adaptive.max-size:50}") int maxSize,
+                             @Value("${customer.pool.adaptive.step:2}") int step,
+                             @Value("${customer.pool.adaptive.target-acquire-wait:5ms}") Duration targetWait,
+                             @Value("${customer.pool.adaptive.max-statement-latency:50ms}") Duration maxStatementLatency) {
+        try {
+            this.pool = dataSource.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Adaptive pool sizing needs a Hikari DataSource", e);
+        }
+        this.poolMetrics = poolMetrics;
+        this.recorder = recorder;
+        this.policy = new PoolSizingPolicy(minSize, maxSize, step, targetWait.toNanos(), maxStatementLatency.toNanos());
+        this.previous = Counters.ZERO.at(System.nanoTime());
+        HikariConfigMXBean config = pool.getHikariConfigMXBean();
+        this.configuredMinimumIdle = config.getMinimumIdle();
+        this.fixedSize = configuredMinimumIdle >= config.getMaximumPoolSize();
+    }
+
+    @Scheduled(initialDelayString = "${customer.pool.adaptive.interval:PT10S}",
+            fixedDelayString = "${customer.pool.adaptive.interval:PT10S}")
+    public synchronized void adjust() {
+        ConnectionPoolMetrics.PoolTracker tracker = poolMetrics.pool(pool.getPoolName());
+        if (tracker == null) return;
+        Counters current = new Counters(System.nanoTime(), tracker.acquireWait().count(), tracker.acquireWait().sumNanos(),
+                tracker.usage().sumNanos(), tracker.timeouts(), recorder.statementCount(), recorder.statementNanos());
+        long acquisitions = current.acquisitions - previous.acquisitions;
+        long statements = current.statements - previous.statements;
+        long elapsed = Math.max(1, current.time - previous.time);
+        PoolSizingPolicy.Sample sample = new PoolSizingPolicy.Sample(
+                acquisitions,
+                acquisitions == 0 ? 0 : (double) (current.waitNanos - previous.waitNanos) / acquisitions,
+                current.timeouts - previous.timeouts,
+                tracker.poolStats().getPendingThreads(),
+                (double) (current.usageNanos - previous.usageNanos) / elapsed,
+                statements == 0 ? 0 : (double) (current.statementNanos - previous.statementNanos) / statements);
+        previous = current;
+        lastSample = sample;
+
+        HikariConfigMXBean config = pool.getHikariConfigMXBean();
+        int size = config.getMaximumPoolSize();
+        int next = policy.nextSize(size, sample);
+        if (next == size) return;
+        int minimumIdle = fixedSize ? next : Math.min(configuredMinimumIdle, next);
+        if (next < size) {
+            config.setMinimumIdle(minimumIdle);
+            config.setMaximumPoolSize(next);
+            // Hikari never closes the connections above a lowered maximum by itself
+            HikariPoolMXBean poolMXBean = pool.getHikariPoolMXBean();
+            if (poolMXBean != null) poolMXBean.softEvictConnections();
+        } else {
+            config.setMaximumPoolSize(next);
+            config.setMinimumIdle(minimumIdle);
+        }
+        resizes++;
+        log.info("Resized connection pool {} from {} to {} ({})", pool.getPoolName(), size, next, sample);
+    }
+
+    public synchronized Map<String, Object> statistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("maximumPoolSize", pool.getHikariConfigMXBean().getMaximumPoolSize());
+        statistics.put("minimumIdle", pool.getHikariConfigMXBean().getMinimumIdle());
+        statistics.put("bounds", Map.of("min", policy.minSize(), "max", policy.maxSize()));
+        statistics.put("resizes", resizes);
+        statistics.put("lastSample", lastSample);
+        return statistics;
+    }
+
+    private record Counters(long time, long acquisitions, long waitNanos, long usageNanos, long timeouts,
+                            long statements, long statementNanos) {
+        static final Counters ZERO = new Counters(0, 0, 0, 0, 0, 0, 0);
+
+        Counters at(long time) {
+            return new Counters(time, acquisitions, waitNanos, usageNanos, timeouts, statements, statementNanos);
+        }
+    }
+}
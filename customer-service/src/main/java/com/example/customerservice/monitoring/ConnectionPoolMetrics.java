@@ -0,0 +1,115 @@
+package com.example.customerservice.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hikari metrics tracker: acquire wait and connection usage histograms,
+ * timeouts, and the active/idle/pending gauges of every tracked pool.
+ * Pools are registered through {@link #track(DataSource)} before they start.
+ */
+@Component
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+    private final Map<String, PoolTracker> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Installs this tracker on a Hikari pool that has none yet, other DataSources are left alone.
+     */
+    public DataSource track(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari && hikari.getMetricsTrackerFactory() == null) {
+            hikari.setMetricsTrackerFactory(this);
+        }
+        return dataSource;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        PoolTracker tracker = new PoolTracker(poolStats);
+        pools.put(poolName, tracker);
+        return tracker;
+    }
+
+    PoolTracker pool(String poolName) {
+        return poolName == null ? null : pools.get(poolName);
+    }
+
+    public Map<String, Object> statistics() {
+        Map<String, Object> statistics = new TreeMap<>();
+        pools.forEach((name, tracker) -> statistics.put(name, tracker.toMap()));
+        return statistics;
+    }
+
+    static final class PoolTracker implements IMetricsTracker {
+        private final PoolStats poolStats;
+        private final LatencyHistogram acquireWait = new LatencyHistogram();
+        private final LatencyHistogram usage = new LatencyHistogram();
+        private final LatencyHistogram creation = new LatencyHistogram();
+        private final LongAdder timeouts = new LongAdder();
+
+        PoolTracker(PoolStats poolStats) {
+            this.poolStats = poolStats;
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquireWait.record(elapsedAcquiredNanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            usage.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            creation.record(TimeUnit.MILLISECONDS.toNanos(connectionCreatedMillis));
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+
+        PoolStats poolStats() {
+            return poolStats;
+        }
+
+        LatencyHistogram acquireWait() {
+            return acquireWait;
+        }
+
+        LatencyHistogram usage() {
+            return usage;
+        }
+
+        long timeouts() {
+            return timeouts.sum();
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("active", poolStats.getActiveConnections());
+            map.put("idle", poolStats.getIdleConnections());
+            map.put("pending", poolStats.getPendingThreads());
+            map.put("total", poolStats.getTotalConnections());
+            map.put("max", poolStats.getMaxConnections());
+            map.put("min", poolStats.getMinConnections());
+            map.put("timeouts", timeouts.sum());
+            map.put("acquireWait", acquireWait.toMap());
+            map.put("usage", usage.toMap());
+            map.put("creation", creation.toMap());
+            return map;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.customerservice.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram with power of two microsecond buckets: bucket {@code i}
+ * holds values below 2^i µs. Percentiles are reported as the upper bound of
+ * their bucket (capped at the observed maximum), which is precise enough to
+ * tell a 1 ms wait from a 100 ms one.
+ */
+final class LatencyHistogram {
+    private static final int BUCKETS = 40;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = new LongAdder();
+    }
+
+    void record(long nanos) {
+        long micros = Math.max(0, nanos) / 1_000;
+        buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros))].increment();
+        count.increment();
+        sumNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    long sumNanos() {
+        return sumNanos.sum();
+    }
+
+    Map<String, Object> toMap() {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets[i].sum();
+            total += snapshot[i];
+        }
+        double maxMillis = maxNanos.get() / 1_000_000.0;
+        Map<String, Object> distribution = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (snapshot[i] > 0) distribution.put("<" + upperBoundMillis(i) + "ms", snapshot[i]);
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", total);
+        map.put("meanMillis", total == 0 ? 0.0 : sumNanos.sum() / 1_000_000.0 / total);
+        map.put("p50Millis", Math.min(percentileMillis(snapshot, total, 50), maxMillis));
+        map.put("p99Millis", Math.min(percentileMillis(snapshot, total, 99), maxMillis));
+        map.put("maxMillis", maxMillis);
+        map.put("buckets", distribution);
+        return map;
+    }
+
+    private static double percentileMillis(long[] snapshot, long total, double percentile) {
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(percentile / 100.0 * total);
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return upperBoundMillis(i);
+        }
+        return upperBoundMillis(snapshot.length - 1);
+    }
+
+    private static double upperBoundMillis(int bucket) {
+        return (1L << bucket) / 1_000.0;
+    }
+}
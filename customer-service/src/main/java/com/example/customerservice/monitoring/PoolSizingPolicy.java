@@ -0,0 +1,35 @@
+package com.example.customerservice.monitoring;
+
+/**
+ * Decides the next maximum size of the connection pool from what happened
+ * during the last interval. Grows when requests waited for a connection,
+ * unless the database itself is slow: more connections would then only add
+ * load where the bottleneck already is. Shrinks when the connections were
+ * mostly idle. The result always stays within {@code [minSize, maxSize]}.
+ */
+record PoolSizingPolicy(int minSize, int maxSize, int step, long targetWaitNanos, long maxStatementNanos) {
+
+    /**
+     * @param acquisitions         connections handed out during the interval
+     * @param meanWaitNanos        mean time spent waiting for them
+     * @param timeouts             acquisitions that gave up
+     * @param pendingThreads       threads waiting for a connection right now
+     * @param meanActive           mean number of connections in use (total usage / interval)
+     * @param meanStatementNanos   mean JDBC statement latency
+     */
+    record Sample(long acquisitions, double meanWaitNanos, long timeouts, int pendingThreads,
+                  double meanActive, double meanStatementNanos) {
+    }
+
+    int nextSize(int currentSize, Sample sample) {
+        boolean starving = sample.timeouts() > 0 || sample.pendingThreads() > 0
+                || sample.meanWaitNanos() > targetWaitNanos;
+        int next = currentSize;
+        if (starving) {
+            if (sample.meanStatementNanos() <= maxStatementNanos) next = currentSize + step;
+        } else if (sample.meanActive() <= currentSize - 2 * step) {
+            next = currentSize - step;
+        }
+        return Math.max(minSize, Math.min(maxSize, next));
+    }
+}
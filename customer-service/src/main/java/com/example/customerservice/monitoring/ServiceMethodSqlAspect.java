@@ -0,0 +1,36 @@
+package com.example.customerservice.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Accounts the SQL issued by each public service method, see
+ * {@link SqlStatementRecorder#statistics()}. Runs outside the transaction
+ * so that the statements flushed at commit are counted as well.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMethodSqlAspect {
+    private final SqlStatementRecorder recorder;
+
+    public ServiceMethodSqlAspect(SqlStatementRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Around("execution(public * com.example.customerservice.service..*.*(..))")
+    public Object countStatements(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        try (SqlStatementRecorder.Scope scope = recorder.openScope(method)) {
+            try {
+                return joinPoint.proceed();
+            } finally {
+                recorder.onMethodCompleted(method, scope);
+            }
+        }
+    }
+}
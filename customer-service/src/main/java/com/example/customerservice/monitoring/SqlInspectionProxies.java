@@ -0,0 +1,121 @@
+package com.example.customerservice.monitoring;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * JDK dynamic proxies around DataSource, Connection and Statement that time
+ * each execution and hand the SQL and its binds to a {@link SqlStatementRecorder},
+ * along with how long each connection took to obtain and was held until closed.
+ * Everything else is forwarded untouched to the real JDBC objects.
+ */
+final class SqlInspectionProxies {
+
+    private SqlInspectionProxies() {
+    }
+
+    static DataSource dataSource(DataSource target, SqlStatementRecorder recorder) {
+        Class<?>[] interfaces = target instanceof Closeable
+                ? new Class<?>[]{DataSource.class, Closeable.class}
+                : new Class<?>[]{DataSource.class};
+        return (DataSource) Proxy.newProxyInstance(SqlInspectionProxies.class.getClassLoader(), interfaces,
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("getConnection")) return invoke(target, method, args);
+                    long start = System.nanoTime();
+                    Connection connection = (Connection) invoke(target, method, args);
+                    recorder.onConnectionAcquired(System.nanoTime() - start);
+                    return connection(connection, recorder);
+                });
+    }
+
+    private static Connection connection(Connection target, SqlStatementRecorder recorder) {
+        long acquiredAt = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(SqlInspectionProxies.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            return invoke(target, method, args);
+                        } finally {
+                            recorder.onConnectionReleased(System.nanoTime() - acquiredAt);
+                        }
+                    }
+                    Object result = invoke(target, method, args);
+                    if (result instanceof CallableStatement statement) {
+                        return statement(statement, CallableStatement.class, (String) args[0], recorder);
+                    }
+                    if (result instanceof PreparedStatement statement) {
+                        return statement(statement, PreparedStatement.class, (String) args[0], recorder);
+                    }
+                    if (result instanceof Statement statement) {
+                        return statement(statement, Statement.class, null, recorder);
+                    }
+                    return result;
+                });
+    }
+
+    private static Statement statement(Statement target, Class<? extends Statement> type, String preparedSql,
+                                       SqlStatementRecorder recorder) {
+        return (Statement) Proxy.newProxyInstance(SqlInspectionProxies.class.getClassLoader(),
+                new Class<?>[]{type}, new StatementHandler(target, preparedSql, recorder));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private final SqlStatementRecorder recorder;
+        private final List<Object> binds = new ArrayList<>();
+
+        StatementHandler(Statement target, String preparedSql, SqlStatementRecorder recorder) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String sql = preparedSql != null ? preparedSql : args != null && args.length > 0 ? (String) args[0] : "<batch>";
+                List<Object> bindsSnapshot = new ArrayList<>(binds);
+                long start = System.nanoTime();
+                try {
+                    return SqlInspectionProxies.invoke(target, method, args);
+                } finally {
+                    recorder.onStatement(sql, bindsSnapshot, System.nanoTime() - start);
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            }
+            return SqlInspectionProxies.invoke(target, method, args);
+        }
+
+        private void bind(int index, Object value) {
+            while (binds.size() < index) binds.add(null);
+            binds.set(index - 1, value);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.customerservice.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * Routes every DataSource through the {@link SqlStatementRecorder} and the
+ * {@link ConnectionPoolMetrics}, and counts the statements of each API request.
+ * {@code customer.sql.monitoring.enabled=false} leaves the DataSources unwrapped.
+ */
+@Configuration
+@ConditionalOnProperty(name = "customer.sql.monitoring.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SqlMonitoringConfig {
+
+    @Bean
+    static BeanPostProcessor sqlInspectingDataSourcePostProcessor(ObjectProvider<SqlStatementRecorder> recorder,
+                                                                  ObjectProvider<ConnectionPoolMetrics> poolMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return recorder.getObject().inspect(poolMetrics.getObject().track(dataSource));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<OncePerRequestFilter> sqlStatementCountingFilter(
+            SqlStatementRecorder recorder,
+            @Value("${customer.sql.request-statement-warn-threshold:10}") int warnThreshold) {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                try (SqlStatementRecorder.Scope scope = recorder.openScope(request.getMethod() + " " + request.getRequestURI())) {
+                    filterChain.doFilter(request, response);
+                    if (scope.getStatements() > warnThreshold || scope.getDuplicates() > 0) {
+                        log.warn("{} issued {} SQL statements ({} duplicates)",
+                                scope.getName(), scope.getStatements(), scope.getDuplicates());
+                    } else {
+                        log.debug("{} issued {} SQL statements", scope.getName(), scope.getStatements());
+                    }
+                }
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
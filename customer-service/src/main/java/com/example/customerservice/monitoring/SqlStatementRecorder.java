@@ -0,0 +1,231 @@
+package com.example.customerservice.monitoring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Receives every JDBC statement executed through the inspected DataSource and
+ * accounts for it in the scopes (HTTP request, service method, test) that are
+ * open on the current thread. Also flags identical statements executed twice
+ * within the same transaction, logs slow statements with their binds and
+ * accounts how long each scope waited for and held pooled connections.
+ */
+@Component
+@Slf4j
+public class SqlStatementRecorder {
+    private static final Object DUPLICATE_TRACKER_KEY = new Object();
+
+    private final ThreadLocal<Deque<Scope>> openScopes = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Map<String, MethodStatistics> methodStatistics = new ConcurrentHashMap<>();
+    private final LongAdder totalStatements = new LongAdder();
+    private final LongAdder totalStatementNanos = new LongAdder();
+    private final LongAdder duplicateStatements = new LongAdder();
+    private final LongAdder slowStatements = new LongAdder();
+    private final long slowThresholdNanos;
+
+    public SqlStatementRecorder(@Value("${customer.sql.slow-threshold:200ms}") Duration slowThreshold) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    /**
+     * Wraps a DataSource so that the statements it runs are recorded here.
+     */
+    public DataSource inspect(DataSource dataSource) {
+        return SqlInspectionProxies.dataSource(dataSource, this);
+    }
+
+    public Scope openScope(String name) {
+        Scope scope = new Scope(name, openScopes.get());
+        openScopes.get().push(scope);
+        return scope;
+    }
+
+    void onStatement(String sql, List<Object> binds, long elapsedNanos) {
+        totalStatements.increment();
+        totalStatementNanos.add(elapsedNanos);
+        boolean duplicate = isDuplicateInTransaction(sql, binds);
+        if (duplicate) {
+            duplicateStatements.increment();
+            log.warn("Duplicate query in the same transaction: {} binds={}", sql, binds);
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            slowStatements.increment();
+            log.warn("Slow query ({} ms): {} binds={}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql, binds);
+        }
+        for (Scope scope : openScopes.get()) {
+            scope.statements++;
+            if (duplicate) scope.duplicates++;
+        }
+    }
+
+    void onConnectionAcquired(long waitNanos) {
+        for (Scope scope : openScopes.get()) {
+            scope.connections++;
+            scope.connectionWaitNanos += waitNanos;
+        }
+    }
+
+    void onConnectionReleased(long heldNanos) {
+        for (Scope scope : openScopes.get()) {
+            scope.connectionHoldNanos += heldNanos;
+        }
+    }
+
+    long statementCount() {
+        return totalStatements.sum();
+    }
+
+    long statementNanos() {
+        return totalStatementNanos.sum();
+    }
+
+    void onMethodCompleted(String method, Scope scope) {
+        methodStatistics.computeIfAbsent(method, m -> new MethodStatistics()).record(scope);
+    }
+
+    public Map<String, Object> statistics() {
+        Map<String, Object> methods = new TreeMap<>();
+        methodStatistics.forEach((method, stats) -> methods.put(method, stats.toMap()));
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("totalStatements", totalStatements.sum());
+        statistics.put("duplicateStatements", duplicateStatements.sum());
+        statistics.put("slowStatements", slowStatements.sum());
+        statistics.put("methods", methods);
+        return statistics;
+    }
+
+    /**
+     * Per service method: connections taken, time spent waiting for them and
+     * time they were held (for a transactional method, the whole transaction).
+     * Relies on {@code spring.jpa.open-in-view=false}: with an open session in
+     * view the connection is only released at the end of the request, after
+     * the method returned, and its hold time is credited to no method.
+     */
+    public Map<String, Object> connectionStatistics() {
+        Map<String, Object> methods = new TreeMap<>();
+        methodStatistics.forEach((method, stats) -> methods.put(method, stats.connectionsToMap()));
+        return methods;
+    }
+
+    private boolean isDuplicateInTransaction(String sql, List<Object> binds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return false;
+        @SuppressWarnings("unchecked")
+        Set<List<Object>> executed = (Set<List<Object>>) TransactionSynchronizationManager.getResource(DUPLICATE_TRACKER_KEY);
+        if (executed == null) {
+            Set<List<Object>> tracker = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(DUPLICATE_TRACKER_KEY, tracker);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DUPLICATE_TRACKER_KEY);
+                }
+            });
+            executed = tracker;
+        }
+        return !executed.add(List.of(sql, binds));
+    }
+
+    /**
+     * Statements executed on the current thread while the scope is open.
+     * Scopes nest: a statement counts for every enclosing open scope.
+     */
+    public final class Scope implements AutoCloseable {
+        private final String name;
+        private final Deque<Scope> owner;
+        private int statements;
+        private int duplicates;
+        private int connections;
+        private long connectionWaitNanos;
+        private long connectionHoldNanos;
+
+        private Scope(String name, Deque<Scope> owner) {
+            this.name = name;
+            this.owner = owner;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public int getDuplicates() {
+            return duplicates;
+        }
+
+        public int getConnections() {
+            return connections;
+        }
+
+        public long getConnectionWaitNanos() {
+            return connectionWaitNanos;
+        }
+
+        public long getConnectionHoldNanos() {
+            return connectionHoldNanos;
+        }
+
+        @Override
+        public void close() {
+            owner.remove(this);
+            if (owner.isEmpty()) openScopes.remove();
+        }
+    }
+
+    private static final class MethodStatistics {
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder duplicates = new LongAdder();
+        private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+        private final LongAdder connections = new LongAdder();
+        private final LongAdder connectionWaitNanos = new LongAdder();
+        private final LongAdder connectionHoldNanos = new LongAdder();
+        private final LongAccumulator maxConnectionHoldNanos = new LongAccumulator(Math::max, 0);
+
+        void record(Scope scope) {
+            invocations.increment();
+            statements.add(scope.statements);
+            duplicates.add(scope.duplicates);
+            maxStatements.accumulate(scope.statements);
+            connections.add(scope.connections);
+            connectionWaitNanos.add(scope.connectionWaitNanos);
+            connectionHoldNanos.add(scope.connectionHoldNanos);
+            maxConnectionHoldNanos.accumulate(scope.connectionHoldNanos);
+        }
+
+        Map<String, Object> toMap() {
+            long calls = invocations.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("invocations", calls);
+            map.put("statements", statements.sum());
+            map.put("statementsPerInvocation", calls == 0 ? 0.0 : (double) statements.sum() / calls);
+            map.put("maxStatements", maxStatements.get());
+            map.put("duplicates", duplicates.sum());
+            return map;
+        }
+
+        Map<String, Object> connectionsToMap() {
+            long calls = invocations.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("invocations", calls);
+            map.put("connections", connections.sum());
+            map.put("meanWaitMillis", calls == 0 ? 0.0 : connectionWaitNanos.sum() / 1_000_000.0 / calls);
+            map.put("meanHoldMillis", calls == 0 ? 0.0 : connectionHoldNanos.sum() / 1_000_000.0 / calls);
+            map.put("maxHoldMillis", maxConnectionHoldNanos.get() / 1_000_000.0);
+            return map;
+        }
+    }
+}
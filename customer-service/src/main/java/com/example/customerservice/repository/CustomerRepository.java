@@ -1,12 +1,32 @@
 package com.example.customerservice.repository;
 
 import com.example.customerservice.entities.Customer;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface CustomerRepository extends JpaRepository<Customer,Long> {
+/**
+ * Only declares the operations the service needs, all of which the sharded
+ * implementation routes: it does not inherit the whole JpaRepository API.
+ */
+public interface CustomerRepository extends Repository<Customer,Long> {
+    <S extends Customer> S save(S customer);
+    <S extends Customer> List<S> saveAll(Iterable<S> customers);
+    Optional<Customer> findById(Long id);
+    boolean existsById(Long id);
+    List<Customer> findAll();
+    long count();
+    void delete(Customer customer);
+    void deleteById(Long id);
+    void deleteAll();
+    void deleteAllInBatch();
+    void flush();
     List<Customer> findByFirstNameContainingIgnoreCase(String keyword);
     Optional<Customer> findByEmail(String email);
+    List<Customer> findTop1000ByIdGreaterThanOrderByIdAsc(Long id);
+    @Query("select substring(c.email, locate('@', c.email) + 1), count(c) from Customer c " +
+            "group by substring(c.email, locate('@', c.email) + 1)")
+    List<Object[]> countCustomersByEmailDomain();
 }
@@ -0,0 +1,86 @@
+package com.example.customerservice.service;
+
+import com.example.customerservice.exceptions.CustomerNotFoundException;
+import com.example.customerservice.exceptions.EmailAlreadyExistException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+
+import java.util.Set;
+
+/**
+ * Outcome of a customer service call that can routinely fail. Failures are
+ * shared constants, so a missing customer or a duplicate email costs neither
+ * an allocation nor an exception. Invalid input carries its constraint
+ * violations. Exceptions are only raised at the HTTP boundary, through
+ * {@link #orElseThrow()}, where a caller needs one.
+ */
+public final class CustomerResult<T> {
+    public enum Status {OK, NOT_FOUND, EMAIL_ALREADY_EXIST, INVALID}
+
+    private static final CustomerResult<?> OK_EMPTY = new CustomerResult<>(Status.OK, null, Set.of());
+    private static final CustomerResult<?> NOT_FOUND = new CustomerResult<>(Status.NOT_FOUND, null, Set.of());
+    private static final CustomerResult<?> EMAIL_ALREADY_EXIST = new CustomerResult<>(Status.EMAIL_ALREADY_EXIST, null, Set.of());
+
+    private final Status status;
+    private final T value;
+    private final Set<? extends ConstraintViolation<?>> violations;
+
+    private CustomerResult(Status status, T value, Set<? extends ConstraintViolation<?>> violations) {
+        this.status = status;
+        this.value = value;
+        this.violations = violations;
+    }
+
+    public static <T> CustomerResult<T> ok(T value) {
+        return new CustomerResult<>(Status.OK, value, Set.of());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static CustomerResult<Void> ok() {
+        return (CustomerResult<Void>) OK_EMPTY;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> CustomerResult<T> notFound() {
+        return (CustomerResult<T>) NOT_FOUND;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> CustomerResult<T> emailAlreadyExist() {
+        return (CustomerResult<T>) EMAIL_ALREADY_EXIST;
+    }
+
+    public static <T> CustomerResult<T> invalid(Set<? extends ConstraintViolation<?>> violations) {
+        return new CustomerResult<>(Status.INVALID, null, violations);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isOk() {
+        return status == Status.OK;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public Set<? extends ConstraintViolation<?>> getViolations() {
+        return violations;
+    }
+
+    public T orElseThrow() {
+        return switch (status) {
+            case OK -> value;
+            case NOT_FOUND -> throw CustomerNotFoundException.INSTANCE;
+            case EMAIL_ALREADY_EXIST -> throw EmailAlreadyExistException.INSTANCE;
+            case INVALID -> throw new ConstraintViolationException(violations);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "CustomerResult(" + status + (value != null ? ", " + value : "") + ")";
+    }
+}
@@ -1,17 +1,19 @@
 package com.example.customerservice.service;
 
 import com.example.customerservice.dto.CustomerDTO;
-import com.example.customerservice.exceptions.CustomerNotFoundException;
-import com.example.customerservice.exceptions.EmailAlreadyExistException;
+import com.example.customerservice.dto.CustomerStatisticsDTO;
+import com.example.customerservice.dto.CustomerSuggestionDTO;
 
 
 import java.util.List;
 
 public interface CustomerService {
-    CustomerDTO saveNewCustomer(CustomerDTO customerDTO) throws EmailAlreadyExistException;
+    CustomerResult<CustomerDTO> saveNewCustomer(CustomerDTO customerDTO);
     List<CustomerDTO> getAllCustomers();
-    CustomerDTO findCustomerById(Long id) throws CustomerNotFoundException;
+    CustomerResult<CustomerDTO> findCustomerById(Long id);
     List<CustomerDTO> searchCustomers(String keyword);
-    CustomerDTO updateCustomer(Long id, CustomerDTO customerDTO)throws CustomerNotFoundException;
-    void deleteCustomer(Long id)throws CustomerNotFoundException;
+    List<CustomerSuggestionDTO> suggestCustomers(String prefix, int limit);
+    CustomerStatisticsDTO getCustomerStatistics(int topDomains);
+    CustomerResult<CustomerDTO> updateCustomer(Long id, CustomerDTO customerDTO);
+    CustomerResult<Void> deleteCustomer(Long id);
 }
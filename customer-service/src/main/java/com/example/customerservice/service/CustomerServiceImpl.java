@@ -1,42 +1,73 @@
 package com.example.customerservice.service;
 
 import com.example.customerservice.dto.CustomerDTO;
+import com.example.customerservice.dto.CustomerStatisticsDTO;
+import com.example.customerservice.dto.CustomerSuggestionDTO;
 import com.example.customerservice.entities.Customer;
-import com.example.customerservice.exceptions.CustomerNotFoundException;
-import com.example.customerservice.exceptions.EmailAlreadyExistException;
+import com.example.customerservice.events.CustomerChangedEvent;
+import com.example.customerservice.logging.LogRateLimiter;
 import com.example.customerservice.mapper.CustomerMapper;
 import com.example.customerservice.repository.CustomerRepository;
+import com.example.customerservice.stats.CustomerStatistics;
+import com.example.customerservice.suggest.CustomerSuggestionIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 @Slf4j
 public class CustomerServiceImpl implements CustomerService {
+    private final LogRateLimiter duplicateEmailLog = new LogRateLimiter(10, Duration.ofSeconds(10));
     private CustomerMapper customerMapper;
     private CustomerRepository customerRepository;
+    private CustomerSuggestionIndex customerSuggestionIndex;
+    private CustomerStatistics customerStatistics;
+    private ApplicationEventPublisher eventPublisher;
+    private Validator validator;
 
-    public CustomerServiceImpl(CustomerMapper customerMapper, CustomerRepository customerRepository) {
+    public CustomerServiceImpl(CustomerMapper customerMapper, CustomerRepository customerRepository,
+                               CustomerSuggestionIndex customerSuggestionIndex, CustomerStatistics customerStatistics,
+                               ApplicationEventPublisher eventPublisher, Validator validator) {
         this.customerMapper = customerMapper;
         this.customerRepository = customerRepository;
+        this.customerSuggestionIndex = customerSuggestionIndex;
+        this.customerStatistics = customerStatistics;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
     }
 
     @Override
-    public CustomerDTO saveNewCustomer(CustomerDTO customerDTO) throws EmailAlreadyExistException {
-        log.info(String.format("Saving new Customer => %s ", customerDTO.toString()));
+    public CustomerResult<CustomerDTO> saveNewCustomer(CustomerDTO customerDTO) {
+        customerDTO.setEmail(CustomerMapper.normalizeEmail(customerDTO.getEmail()));
+        log.atInfo().setMessage("Saving new Customer => {}").addArgument(customerDTO)
+                .addKeyValue("email", customerDTO.getEmail()).log();
+        Customer customerToSave = customerMapper.fromCustomerDTO(customerDTO);
+        Set<ConstraintViolation<Customer>> violations = validator.validate(customerToSave);
+        if (!violations.isEmpty()) return CustomerResult.invalid(violations);
         Optional<Customer> byEmail = customerRepository.findByEmail(customerDTO.getEmail());
         if(byEmail.isPresent()) {
-            log.error(String.format("This email %s already exist", customerDTO.getEmail()));
-            throw new EmailAlreadyExistException();
+            long suppressed = duplicateEmailLog.tryAcquire();
+            if (suppressed >= 0) {
+                log.atError().setMessage("This email {} already exist ({} similar messages suppressed)")
+                        .addArgument(customerDTO.getEmail()).addArgument(suppressed)
+                        .addKeyValue("email", customerDTO.getEmail()).log();
+            }
+            return CustomerResult.emailAlreadyExist();
         }
-        Customer customerToSave = customerMapper.fromCustomerDTO(customerDTO);
         Customer savedCustomer = customerRepository.save(customerToSave);
         CustomerDTO result = customerMapper.fromCustomer(savedCustomer);
-        return result;
+        eventPublisher.publishEvent(CustomerChangedEvent.created(result));
+        return CustomerResult.ok(result);
     }
 
     @Override
@@ -46,10 +77,10 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
-    public CustomerDTO findCustomerById(Long id) throws CustomerNotFoundException {
+    public CustomerResult<CustomerDTO> findCustomerById(Long id) {
         Optional<Customer> customer = customerRepository.findById(id);
-        if (customer.isEmpty()) throw new CustomerNotFoundException();
-        return customerMapper.fromCustomer(customer.get());
+        if (customer.isEmpty()) return CustomerResult.notFound();
+        return CustomerResult.ok(customerMapper.fromCustomer(customer.get()));
     }
 
     @Override
@@ -59,19 +90,39 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     @Override
-    public CustomerDTO updateCustomer(Long id, CustomerDTO customerDTO) throws CustomerNotFoundException {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<CustomerSuggestionDTO> suggestCustomers(String prefix, int limit) {
+        return customerSuggestionIndex.suggest(prefix, limit);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CustomerStatisticsDTO getCustomerStatistics(int topDomains) {
+        return customerStatistics.statistics(topDomains);
+    }
+
+    @Override
+    public CustomerResult<CustomerDTO> updateCustomer(Long id, CustomerDTO customerDTO) {
         Optional<Customer> customer=customerRepository.findById(id);
-        if(customer.isEmpty()) throw new CustomerNotFoundException();
+        if(customer.isEmpty()) return CustomerResult.notFound();
+        String previousEmail = customer.get().getEmail();
         customerDTO.setId(id);
+        customerDTO.setEmail(CustomerMapper.normalizeEmail(customerDTO.getEmail()));
         Customer customerToUpdate = customerMapper.fromCustomerDTO(customerDTO);
+        Set<ConstraintViolation<Customer>> violations = validator.validate(customerToUpdate);
+        if (!violations.isEmpty()) return CustomerResult.invalid(violations);
         Customer updatedCustomer = customerRepository.save(customerToUpdate);
-        return customerMapper.fromCustomer(updatedCustomer);
+        CustomerDTO result = customerMapper.fromCustomer(updatedCustomer);
+        eventPublisher.publishEvent(CustomerChangedEvent.updated(previousEmail, result));
+        return CustomerResult.ok(result);
     }
 
     @Override
-    public void deleteCustomer(Long id) throws CustomerNotFoundException {
+    public CustomerResult<Void> deleteCustomer(Long id) {
         Optional<Customer> customer=customerRepository.findById(id);
-        if(customer.isEmpty()) throw new CustomerNotFoundException();
+        if(customer.isEmpty()) return CustomerResult.notFound();
         customerRepository.deleteById(id);
+        eventPublisher.publishEvent(CustomerChangedEvent.deleted(id, customer.get().getEmail()));
+        return CustomerResult.ok();
     }
 }
@@ -0,0 +1,137 @@
+package com.example.customerservice.sharding;
+
+import com.example.customerservice.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Function;
+
+/**
+ * One customer database with its own persistence unit, repository and
+ * transaction manager.
+ * <p>
+ * Work issued while a service transaction is active joins a shard
+ * transaction that is opened on first use and committed together with the
+ * service transaction, so a service method sees a single persistence context
+ * per shard, exactly as with a single database. Outside of a transaction each
+ * call runs in its own shard transaction.
+ */
+public final class CustomerShard {
+    private static final HibernateJpaDialect JPA_DIALECT = new HibernateJpaDialect();
+
+    private final int index;
+    private final CustomerRepository repository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JpaTransactionManager transactionManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public CustomerShard(int index, CustomerRepository repository, EntityManagerFactory entityManagerFactory) {
+        this.index = index;
+        this.repository = repository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionManager = new JpaTransactionManager(entityManagerFactory);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public EntityManagerFactory entityManagerFactory() {
+        return entityManagerFactory;
+    }
+
+    public <T> T execute(Function<CustomerRepository, T> work) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transactionTemplate.execute(status -> work.apply(repository));
+        }
+        joinCurrentTransaction();
+        return work.apply(repository);
+    }
+
+    /**
+     * Runs in a standalone read-only shard transaction, used by scatter-gather
+     * queries running on the shard executor threads.
+     */
+    public <T> T read(Function<CustomerRepository, T> work) {
+        return readOnlyTransactionTemplate.execute(status -> work.apply(repository));
+    }
+
+    public boolean isJoined() {
+        return TransactionSynchronizationManager.hasResource(entityManagerFactory);
+    }
+
+    /**
+     * Binds a shard EntityManager to the service transaction, the same way
+     * {@link JpaTransactionManager} binds its own, so that the shard repository
+     * picks it up. The shard transaction is committed right before the service
+     * transaction and rolled back if it does not commit; the shard transaction
+     * manager is not involved, which leaves the synchronizations of the service
+     * transaction alone.
+     */
+    private void joinCurrentTransaction() {
+        if (isJoined()) return;
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+        } catch (RuntimeException e) {
+            EntityManagerFactoryUtils.closeEntityManager(entityManager);
+            throw DataAccessUtils.translateIfNecessary(e, JPA_DIALECT);
+        }
+        EntityManagerHolder holder = new EntityManagerHolder(entityManager);
+        holder.setSynchronizedWithTransaction(true);
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, holder);
+        TransactionSynchronizationManager.registerSynchronization(new ShardTransactionSynchronization(holder));
+    }
+
+    private final class ShardTransactionSynchronization implements TransactionSynchronization {
+        private final EntityManagerHolder holder;
+
+        ShardTransactionSynchronization(EntityManagerHolder holder) {
+            this.holder = holder;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(entityManagerFactory, holder);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            EntityManager entityManager = holder.getEntityManager();
+            try {
+                if (!readOnly) entityManager.flush();
+                entityManager.getTransaction().commit();
+            } catch (RuntimeException e) {
+                throw DataAccessUtils.translateIfNecessary(e, JPA_DIALECT);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+            EntityManager entityManager = holder.getEntityManager();
+            try {
+                if (entityManager.getTransaction().isActive()) entityManager.getTransaction().rollback();
+            } finally {
+                EntityManagerFactoryUtils.closeEntityManager(entityManager);
+            }
+        }
+    }
+}
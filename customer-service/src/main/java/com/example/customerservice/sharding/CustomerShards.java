@@ -0,0 +1,166 @@
+package com.example.customerservice.sharding;
+
+import com.example.customerservice.entities.Customer;
+import com.example.customerservice.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * The set of customer databases. Each shard gets its own DataSource and
+ * persistence unit (so the schema is created on every shard) and a repository
+ * built on top of it. Also owns the {@link EmailShardDirectory} and the
+ * executor used to query all the shards in parallel.
+ * <p>
+ * Customers keep their identity column on every shard, but the identity of
+ * shard {@code k} out of {@code N} is restarted at {@code k + 1} with an
+ * increment of {@code N}: ids are globally unique without coordination and
+ * the owning shard of any id is {@code (id - 1) % N}. The single database
+ * setup is left untouched.
+ */
+@Slf4j
+public class CustomerShards implements DisposableBean {
+    private final List<CustomerShard> shards = new ArrayList<>();
+    private final List<LocalContainerEntityManagerFactoryBean> factories = new ArrayList<>();
+    private final List<DataSource> dataSources = new ArrayList<>();
+    private final EmailShardDirectory directory;
+    private final ExecutorService executor;
+
+    public CustomerShards(List<ShardingProperties.Shard> shardProperties, Map<String, Object> hibernateProperties,
+                          UnaryOperator<DataSource> dataSourceDecorator, EmailShardDirectory directory) {
+        if (shardProperties.isEmpty()) {
+            throw new IllegalStateException("customer.sharding.shards must list at least one datasource");
+        }
+        this.directory = directory;
+        for (int index = 0; index < shardProperties.size(); index++) {
+            ShardingProperties.Shard shard = shardProperties.get(index);
+            DataSource dataSource = DataSourceBuilder.create()
+                    .url(shard.getUrl()).username(shard.getUsername()).password(shard.getPassword()).build();
+            dataSources.add(dataSource);
+            EntityManagerFactory entityManagerFactory = entityManagerFactory(index,
+                    dataSourceDecorator.apply(dataSource), hibernateProperties);
+            interleaveIds(new JdbcTemplate(dataSource), index, shardProperties.size());
+            CustomerRepository repository = new JpaRepositoryFactory(
+                    SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+                    .getRepository(CustomerRepository.class);
+            shards.add(new CustomerShard(index, repository, entityManagerFactory));
+        }
+        this.executor = Executors.newFixedThreadPool(shards.size(), new CustomizableThreadFactory("customer-shard-"));
+        registerEmails();
+    }
+
+    public int size() {
+        return shards.size();
+    }
+
+    public List<CustomerShard> all() {
+        return Collections.unmodifiableList(shards);
+    }
+
+    public CustomerShard get(int index) {
+        return shards.get(index);
+    }
+
+    public CustomerShard forId(Long id) {
+        return shards.get(shardOf(id, shards.size()));
+    }
+
+    /**
+     * Placement of a new customer, whose id is only known once its shard
+     * generated it.
+     */
+    public CustomerShard forNewCustomer(String email) {
+        return shards.get(Math.floorMod(Objects.hashCode(email), shards.size()));
+    }
+
+    public static int shardOf(long id, int shardCount) {
+        return (int) Math.floorMod(id - 1, (long) shardCount);
+    }
+
+    /**
+     * First id owned by {@code shard} that is greater than {@code maxId}.
+     */
+    static long nextId(long maxId, int shard, int shardCount) {
+        return maxId + 1 + Math.floorMod(shard - maxId, (long) shardCount);
+    }
+
+    public EmailShardDirectory directory() {
+        return directory;
+    }
+
+    /**
+     * Runs {@code query} on every shard in parallel, each in its own read-only
+     * transaction, and returns the per shard results in shard order.
+     */
+    public <T> List<T> scatter(Function<CustomerRepository, T> query) {
+        List<CompletableFuture<T>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> shard.read(query), executor))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        factories.forEach(LocalContainerEntityManagerFactoryBean::destroy);
+        for (DataSource dataSource : dataSources) {
+            if (dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    log.warn("Could not close shard datasource", e);
+                }
+            }
+        }
+    }
+
+    private EntityManagerFactory entityManagerFactory(int index, DataSource dataSource,
+                                                      Map<String, Object> hibernateProperties) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setPersistenceUnitName("customers-shard-" + index);
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(Customer.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(hibernateProperties);
+        factory.afterPropertiesSet();
+        factories.add(factory);
+        return factory.getObject();
+    }
+
+    private static void interleaveIds(JdbcTemplate jdbcTemplate, int index, int count) {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from customer", Long.class);
+        jdbcTemplate.execute("alter table customer alter column id restart with " + nextId(maxId, index, count));
+        jdbcTemplate.execute("alter table customer alter column id set increment by " + count);
+    }
+
+    private void registerEmails() {
+        for (CustomerShard shard : shards) {
+            EntityManager entityManager = shard.entityManagerFactory().createEntityManager();
+            try {
+                directory.register(entityManager.createQuery("select c.email from Customer c", String.class)
+                        .getResultList(), shard.index());
+            } finally {
+                entityManager.close();
+            }
+        }
+        log.info("Customer sharding enabled over {} shards, {} emails in directory", shards.size(), directory.size());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.customerservice.sharding;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Which shard owns which email. Since customers are placed by id, the unique
+ * constraint of a single shard is not enough to keep emails unique: an email
+ * must be claimed here before it is written to any shard.
+ * <p>
+ * The directory is the {@code customer_email_directory} table of the main
+ * database, keyed by email, so that every instance of the service sees the
+ * same claims. Claims and releases run on the connection of the current
+ * service transaction when there is one: they commit with it, and a rolled
+ * back transaction gives its claims back.
+ */
+public class EmailShardDirectory {
+    private static final String INSERT_IF_ABSENT = "insert into customer_email_directory (email, shard) " +
+            "select ?, ? where not exists (select 1 from customer_email_directory where email = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmailShardDirectory(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists customer_email_directory (" +
+                "email varchar(255) not null primary key, shard integer not null)");
+    }
+
+    public Integer shardOf(String email) {
+        if (email == null) return null;
+        List<Integer> shards = jdbcTemplate.queryForList(
+                "select shard from customer_email_directory where email = ?", Integer.class, email);
+        return shards.isEmpty() ? null : shards.get(0);
+    }
+
+    /**
+     * @return {@code false} when the email is already owned by a customer
+     */
+    public boolean claim(String email, int shard) {
+        try {
+            jdbcTemplate.update("insert into customer_email_directory (email, shard) values (?, ?)", email, shard);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public void release(String email, int shard) {
+        if (email != null) {
+            jdbcTemplate.update("delete from customer_email_directory where email = ? and shard = ?", email, shard);
+        }
+    }
+
+    /**
+     * Records emails already stored on a shard, e.g. written before sharding
+     * was enabled; emails that are already claimed are left alone.
+     */
+    public void register(List<String> emails, int shard) {
+        for (String email : emails) {
+            try {
+                jdbcTemplate.update(INSERT_IF_ABSENT, email, shard, email);
+            } catch (DuplicateKeyException e) {
+                // claimed concurrently by another instance
+            }
+        }
+    }
+
+    public void clear() {
+        jdbcTemplate.update("delete from customer_email_directory");
+    }
+
+    public int size() {
+        Integer size = jdbcTemplate.queryForObject("select count(*) from customer_email_directory", Integer.class);
+        return size == null ? 0 : size;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.customerservice.sharding;
+
+import com.example.customerservice.entities.Customer;
+import com.example.customerservice.repository.CustomerRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * {@link CustomerRepository} that spreads customers over {@link CustomerShards}.
+ * <ul>
+ *     <li>calls by id go to the shard encoded in the id;</li>
+ *     <li>new customers are placed by email hash, their shard then generates the id;</li>
+ *     <li>email lookups go through the {@link EmailShardDirectory}, which also
+ *     enforces email uniqueness across shards;</li>
+ *     <li>list queries are scattered to every shard in parallel and the results
+ *     are merged in id order.</li>
+ * </ul>
+ * {@link CustomerRepository} only declares the methods routed here, and
+ * {@link #create} refuses to start if one of them has no route.
+ */
+public final class ShardedCustomerRepository implements InvocationHandler {
+    private static final Comparator<Customer> BY_ID = Comparator.comparing(Customer::getId);
+    private static final int PAGE_SIZE = 1000;
+
+    private final CustomerShards shards;
+    private final EmailShardDirectory directory;
+    private final Map<String, Route> routes = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private ShardedCustomerRepository(CustomerShards shards) {
+        this.shards = shards;
+        this.directory = shards.directory();
+        routes.put("save/1", (proxy, args) -> save((Customer) args[0]));
+        routes.put("saveAll/1", (proxy, args) -> saveAll((Iterable<Customer>) args[0]));
+        routes.put("findById/1", (proxy, args) -> shards.forId((Long) args[0]).execute(r -> r.findById((Long) args[0])));
+        routes.put("existsById/1", (proxy, args) -> shards.forId((Long) args[0]).execute(r -> r.existsById((Long) args[0])));
+        routes.put("findByEmail/1", (proxy, args) -> findByEmail((String) args[0]));
+        routes.put("findAll/0", (proxy, args) -> merge(shards.scatter(r -> sorted(r.findAll())), Integer.MAX_VALUE));
+        routes.put("findByFirstNameContainingIgnoreCase/1", (proxy, args) -> merge(shards.scatter(r -> sorted(
+                r.findByFirstNameContainingIgnoreCase((String) args[0]))), Integer.MAX_VALUE));
+        routes.put("findTop1000ByIdGreaterThanOrderByIdAsc/1", (proxy, args) -> merge(shards.scatter(
+                r -> r.findTop1000ByIdGreaterThanOrderByIdAsc((Long) args[0])), PAGE_SIZE));
+        routes.put("count/0", (proxy, args) -> shards.scatter(CustomerRepository::count).stream()
+                .mapToLong(Long::longValue).sum());
+        routes.put("countCustomersByEmailDomain/0", (proxy, args) -> shards.scatter(
+                CustomerRepository::countCustomersByEmailDomain).stream().flatMap(List::stream).toList());
+        routes.put("deleteById/1", (proxy, args) -> deleteById((Long) args[0]));
+        routes.put("delete/1", (proxy, args) -> deleteById(((Customer) args[0]).getId()));
+        routes.put("deleteAll/0", (proxy, args) -> deleteAll());
+        routes.put("deleteAllInBatch/0", (proxy, args) -> deleteAll());
+        routes.put("flush/0", (proxy, args) -> flush());
+        routes.put("toString/0", (proxy, args) -> "ShardedCustomerRepository"
+                + shards.all().stream().map(CustomerShard::index).toList());
+        routes.put("hashCode/0", (proxy, args) -> System.identityHashCode(proxy));
+        routes.put("equals/1", (proxy, args) -> proxy == args[0]);
+    }
+
+    public static CustomerRepository create(CustomerShards shards) {
+        ShardedCustomerRepository handler = new ShardedCustomerRepository(shards);
+        requireRoutes(CustomerRepository.class, handler.routes.keySet());
+        return (CustomerRepository) Proxy.newProxyInstance(CustomerRepository.class.getClassLoader(),
+                new Class<?>[]{CustomerRepository.class}, handler);
+    }
+
+    /**
+     * @throws IllegalStateException naming the first method of {@code repositoryType} without a route
+     */
+    static void requireRoutes(Class<?> repositoryType, Set<String> routed) {
+        for (Method method : repositoryType.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) || routed.contains(signature(method))) continue;
+            throw new IllegalStateException(repositoryType.getSimpleName() + "." + method.getName()
+                    + " is not routed by the sharded customer repository");
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        return routes.get(signature(method)).invoke(proxy, args);
+    }
+
+    private static String signature(Method method) {
+        return method.getName() + "/" + method.getParameterCount();
+    }
+
+    private Customer save(Customer customer) {
+        if (customer.getId() == null) {
+            CustomerShard shard = shards.forNewCustomer(customer.getEmail());
+            claim(customer.getEmail(), shard);
+            try {
+                return shard.execute(r -> r.save(customer));
+            } catch (RuntimeException e) {
+                directory.release(customer.getEmail(), shard.index());
+                throw e;
+            }
+        }
+        CustomerShard shard = shards.forId(customer.getId());
+        return shard.execute(r -> {
+            String previousEmail = r.findById(customer.getId()).map(Customer::getEmail).orElse(null);
+            String email = customer.getEmail();
+            if (email == null || email.equals(previousEmail)) return r.save(customer);
+            claim(email, shard);
+            try {
+                Customer saved = r.save(customer);
+                directory.release(previousEmail, shard.index());
+                return saved;
+            } catch (RuntimeException e) {
+                directory.release(email, shard.index());
+                throw e;
+            }
+        });
+    }
+
+    private List<Customer> saveAll(Iterable<Customer> customers) {
+        List<Customer> saved = new ArrayList<>();
+        customers.forEach(customer -> saved.add(save(customer)));
+        return saved;
+    }
+
+    private Optional<Customer> findByEmail(String email) {
+        Integer shard = directory.shardOf(email);
+        if (shard == null) return Optional.empty();
+        return shards.get(shard).execute(r -> r.findByEmail(email));
+    }
+
+    private Void deleteById(Long id) {
+        CustomerShard shard = shards.forId(id);
+        return shard.execute(r -> {
+            r.findById(id).ifPresent(customer -> {
+                r.delete(customer);
+                directory.release(customer.getEmail(), shard.index());
+            });
+            return null;
+        });
+    }
+
+    private Void deleteAll() {
+        for (CustomerShard shard : shards.all()) {
+            shard.execute(r -> {
+                r.deleteAllInBatch();
+                return null;
+            });
+        }
+        directory.clear();
+        return null;
+    }
+
+    private Void flush() {
+        for (CustomerShard shard : shards.all()) {
+            if (shard.isJoined()) shard.execute(r -> {
+                r.flush();
+                return null;
+            });
+        }
+        return null;
+    }
+
+    private void claim(String email, CustomerShard shard) {
+        if (email != null && !directory.claim(email, shard.index())) {
+            throw new DataIntegrityViolationException("Email " + email + " is already used by another customer");
+        }
+    }
+
+    private static List<Customer> sorted(List<Customer> customers) {
+        List<Customer> sorted = new ArrayList<>(customers);
+        sorted.sort(BY_ID);
+        return sorted;
+    }
+
+    /**
+     * K-way merge of per shard lists that are each sorted by id.
+     */
+    private static List<Customer> merge(List<List<Customer>> perShard, int limit) {
+        PriorityQueue<PeekingIterator> heads = new PriorityQueue<>(Math.max(1, perShard.size()),
+                Comparator.comparing(PeekingIterator::peek, BY_ID));
+        int total = 0;
+        for (List<Customer> customers : perShard) {
+            total += customers.size();
+            if (!customers.isEmpty()) heads.add(new PeekingIterator(customers.iterator()));
+        }
+        List<Customer> merged = new ArrayList<>(Math.min(total, limit));
+        while (!heads.isEmpty() && merged.size() < limit) {
+            PeekingIterator head = heads.poll();
+            merged.add(head.next());
+            if (head.hasNext()) heads.add(head);
+        }
+        return merged;
+    }
+
+    private interface Route {
+        Object invoke(Object proxy, Object[] args);
+    }
+
+    private static final class PeekingIterator implements Iterator<Customer> {
+        private final Iterator<Customer> delegate;
+        private Customer next;
+
+        PeekingIterator(Iterator<Customer> delegate) {
+            this.delegate = delegate;
+            this.next = delegate.next();
+        }
+
+        Customer peek() {
+            return next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Customer next() {
+            Customer current = next;
+            next = delegate.hasNext() ? delegate.next() : null;
+            return current;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.customerservice.sharding;
+
+import com.example.customerservice.monitoring.ConnectionPoolMetrics;
+import com.example.customerservice.monitoring.SqlStatementRecorder;
+import com.example.customerservice.repository.CustomerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Replaces the single database {@link CustomerRepository} with a
+ * {@link ShardedCustomerRepository} when {@code customer.sharding.enabled=true}.
+ * The shards are listed under {@code customer.sharding.shards[i].url/username/password}
+ * and share the {@code spring.jpa.*} settings of the main persistence unit;
+ * the email directory lives in the main database.
+ */
+@Configuration
+@ConditionalOnProperty(name = "customer.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    CustomerShards customerShards(ShardingProperties shardingProperties, JpaProperties jpaProperties,
+                                  HibernateProperties hibernateProperties, SqlStatementRecorder sqlStatementRecorder,
+                                  ConnectionPoolMetrics connectionPoolMetrics, DataSource dataSource,
+                                  @Value("${customer.sql.monitoring.enabled:true}") boolean sqlMonitoring) {
+        Map<String, Object> hibernateSettings = hibernateProperties.determineHibernateProperties(
+                jpaProperties.getProperties(), new HibernateSettings().ddlAuto(() -> "none"));
+        return new CustomerShards(shardingProperties.getShards(), hibernateSettings,
+                shard -> sqlMonitoring ? sqlStatementRecorder.inspect(connectionPoolMetrics.track(shard)) : shard,
+                new EmailShardDirectory(dataSource));
+    }
+
+    @Bean
+    @Primary
+    CustomerRepository shardedCustomerRepository(CustomerShards customerShards) {
+        return ShardedCustomerRepository.create(customerShards);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.customerservice.stats;
+
+import com.example.customerservice.dto.CustomerStatisticsDTO;
+import com.example.customerservice.events.CustomerChangedEvent;
+import com.example.customerservice.repository.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Customer counters maintained from the committed {@link CustomerChangedEvent}s
+ * so that the statistics endpoint never scans the table: the total and the
+ * per email domain counts are {@link LongAdder}s, the creation rate is a ring
+ * of one second buckets over the last minute. The counters are periodically
+ * replaced by fresh ones computed by the database, which repairs any drift
+ * (writes done outside of the service, lost events on restart...).
+ * <p>
+ * A customer change holds the commit window (shared) from just before its
+ * transaction commits until the counters are updated, and the reconciliation
+ * holds it (exclusive) while it counts: every committed customer is then
+ * either already in the counters or in the database counts, never in both.
+ * Commits wait for the duration of the two count queries.
+ */
+@Component
+@Slf4j
+public class CustomerStatistics {
+    public static final int MAX_TOP_DOMAINS = 50;
+    private static final int WINDOW_SECONDS = 60;
+    private static final long TOP_DOMAINS_CACHE_MILLIS = 1000;
+    private static final TopDomains STALE = new TopDomains(List.of(), -TOP_DOMAINS_CACHE_MILLIS);
+
+    private final CustomerRepository customerRepository;
+    private final Clock clock;
+    // one bucket per second of the window: the second in the high 32 bits, the creations in the low ones
+    private final AtomicLongArray creationsPerSecond = new AtomicLongArray(WINDOW_SECONDS);
+    private final ReentrantReadWriteLock commitWindow = new ReentrantReadWriteLock();
+    private volatile Counters counters = new Counters();
+    private volatile TopDomains topDomains = STALE;
+    private volatile Instant lastReconciledAt;
+
+    @Autowired
+    public CustomerStatistics(CustomerRepository customerRepository) {
+        this(customerRepository, Clock.systemUTC());
+    }
+
+    CustomerStatistics(CustomerRepository customerRepository, Clock clock) {
+        this.customerRepository = customerRepository;
+        this.clock = clock;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        Lock lock = commitWindow.readLock();
+        lock.lock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                apply(event);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) apply(event);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    private void apply(CustomerChangedEvent event) {
+        Counters current = counters;
+        if (event.isCreated()) {
+            current.total.increment();
+            current.domain(domainOf(event.customer().getEmail())).increment();
+            recordCreation();
+        } else if (event.isDeleted()) {
+            current.total.decrement();
+            current.domain(domainOf(event.previousEmail())).decrement();
+        } else {
+            String previousDomain = domainOf(event.previousEmail());
+            String domain = domainOf(event.customer().getEmail());
+            if (!previousDomain.equals(domain)) {
+                current.domain(previousDomain).decrement();
+                current.domain(domain).increment();
+            }
+        }
+    }
+
+    public CustomerStatisticsDTO statistics(int top) {
+        long nowSecond = clock.millis() / 1000;
+        long createdLastMinute = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            long bucket = creationsPerSecond.get(i);
+            if (nowSecond - (bucket >>> 32) < WINDOW_SECONDS) createdLastMinute += bucket & 0xFFFFFFFFL;
+        }
+        List<CustomerStatisticsDTO.DomainCount> domains = topDomains().domains;
+        return CustomerStatisticsDTO.builder()
+                .totalCustomers(counters.total.sum())
+                .topEmailDomains(domains.subList(0, Math.min(Math.max(top, 0), domains.size())))
+                .createdLastMinute(createdLastMinute)
+                .creationRatePerSecond((double) createdLastMinute / WINDOW_SECONDS)
+                .lastReconciledAt(lastReconciledAt)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${customer.stats.reconcile-interval:PT5M}",
+            fixedDelayString = "${customer.stats.reconcile-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        // the read only transaction holds its connection before commits are held back
+        Counters fresh = new Counters();
+        Counters previous;
+        Lock lock = commitWindow.writeLock();
+        lock.lock();
+        try {
+            fresh.total.add(customerRepository.count());
+            for (Object[] row : customerRepository.countCustomersByEmailDomain()) {
+                fresh.domain(normalizeDomain((String) row[0])).add(((Number) row[1]).longValue());
+            }
+            previous = counters;
+            counters = fresh;
+        } finally {
+            lock.unlock();
+        }
+        topDomains = STALE;
+        lastReconciledAt = clock.instant();
+        if (previous.total.sum() != fresh.total.sum()) {
+            log.info("Customer statistics reconciled: total {} -> {}", previous.total.sum(), fresh.total.sum());
+        }
+    }
+
+    private TopDomains topDomains() {
+        TopDomains cached = topDomains;
+        long now = clock.millis();
+        if (now - cached.builtAt < TOP_DOMAINS_CACHE_MILLIS) return cached;
+        List<CustomerStatisticsDTO.DomainCount> domains = new ArrayList<>();
+        counters.domains.forEach((domain, count) -> {
+            long value = count.sum();
+            if (value > 0) domains.add(new CustomerStatisticsDTO.DomainCount(domain, value));
+        });
+        domains.sort(Comparator.comparingLong(CustomerStatisticsDTO.DomainCount::getCount).reversed()
+                .thenComparing(CustomerStatisticsDTO.DomainCount::getDomain));
+        TopDomains fresh = new TopDomains(List.copyOf(domains.subList(0, Math.min(MAX_TOP_DOMAINS, domains.size()))), now);
+        topDomains = fresh;
+        return fresh;
+    }
+
+    /**
+     * Moving a bucket to the current second and counting the creation are a
+     * single atomic update, so a concurrent creation is never reset away.
+     */
+    private void recordCreation() {
+        long nowSecond = clock.millis() / 1000;
+        creationsPerSecond.updateAndGet((int) (nowSecond % WINDOW_SECONDS), bucket -> {
+            long second = bucket >>> 32;
+            if (second == nowSecond) return bucket + 1;
+            if (second > nowSecond) return bucket; // a late event from the previous lap of the ring
+            return nowSecond << 32 | 1;
+        });
+    }
+
+    static String domainOf(String email) {
+        if (email == null) return "";
+        return normalizeDomain(email.substring(email.indexOf('@') + 1));
+    }
+
+    private static String normalizeDomain(String domain) {
+        return domain == null ? "" : domain.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Counters {
+        private final LongAdder total = new LongAdder();
+        private final Map<String, LongAdder> domains = new ConcurrentHashMap<>();
+
+        LongAdder domain(String domain) {
+            return domains.computeIfAbsent(domain, d -> new LongAdder());
+        }
+    }
+
+    private record TopDomains(List<CustomerStatisticsDTO.DomainCount> domains, long builtAt) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.customerservice.suggest;
+
+import com.example.customerservice.dto.CustomerDTO;
+import com.example.customerservice.dto.CustomerSuggestionDTO;
+import com.example.customerservice.entities.Customer;
+import com.example.customerservice.events.CustomerChangedEvent;
+import com.example.customerservice.repository.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over the normalized first name, last name and email
+ * of every customer, used for type-ahead suggestions.
+ * <p>
+ * Terms are kept in a sorted concurrent map keyed by {@code term + '\0' + id}:
+ * a prefix lookup is a range scan starting at the prefix, which costs
+ * O(log n + k) for the top {@code k} matches and never touches the database.
+ * The index is built once at startup and then maintained from the committed
+ * {@link CustomerChangedEvent}s.
+ */
+@Component
+@Slf4j
+public class CustomerSuggestionIndex {
+    private static final char SEPARATOR = '\0';
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private final CustomerRepository customerRepository;
+    private final ConcurrentNavigableMap<String, Long> terms = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public CustomerSuggestionIndex(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Long lastId = 0L;
+        List<Customer> page;
+        do {
+            page = customerRepository.findTop1000ByIdGreaterThanOrderByIdAsc(lastId);
+            for (Customer customer : page) {
+                put(customer.getId(), customer.getFirstName(), customer.getLastName(), customer.getEmail());
+                lastId = customer.getId();
+            }
+        } while (!page.isEmpty());
+        log.info("Customer suggestion index built with {} customers in {} ms", entries.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.customerId());
+        } else {
+            CustomerDTO customer = event.customer();
+            put(customer.getId(), customer.getFirstName(), customer.getLastName(), customer.getEmail());
+        }
+    }
+
+    public List<CustomerSuggestionDTO> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) return List.of();
+        ConcurrentNavigableMap<String, Long> matches =
+                terms.subMap(normalized, true, normalized + Character.MAX_VALUE, true);
+        Set<Long> seen = new HashSet<>();
+        List<CustomerSuggestionDTO> suggestions = new ArrayList<>(limit);
+        for (Long id : matches.values()) {
+            if (!seen.add(id)) continue;
+            Entry entry = entries.get(id);
+            if (entry == null) continue;
+            suggestions.add(entry.suggestion);
+            if (suggestions.size() == limit) break;
+        }
+        return suggestions;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    void put(Long id, String firstName, String lastName, String email) {
+        entries.compute(id, (key, previous) -> {
+            if (previous != null) previous.keys.forEach(terms::remove);
+            Entry entry = new Entry(new CustomerSuggestionDTO(id, label(firstName, lastName, email)),
+                    keys(id, firstName, lastName, email));
+            entry.keys.forEach(k -> terms.put(k, id));
+            return entry;
+        });
+    }
+
+    void remove(Long id) {
+        entries.computeIfPresent(id, (key, previous) -> {
+            previous.keys.forEach(terms::remove);
+            return null;
+        });
+    }
+
+    static String normalize(String value) {
+        if (value == null) return "";
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> keys(Long id, String... values) {
+        return Arrays.stream(values)
+                .map(CustomerSuggestionIndex::normalize)
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .map(term -> term + SEPARATOR + id)
+                .toList();
+    }
+
+    private static String label(String firstName, String lastName, String email) {
+        return firstName + " " + lastName + " <" + email + ">";
+    }
+
+    private record Entry(CustomerSuggestionDTO suggestion, List<String> keys) {
+    }
+}
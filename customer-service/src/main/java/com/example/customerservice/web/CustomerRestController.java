@@ -1,9 +1,17 @@
 package com.example.customerservice.web;
 
 import com.example.customerservice.dto.CustomerDTO;
+import com.example.customerservice.dto.CustomerStatisticsDTO;
+import com.example.customerservice.dto.CustomerSuggestionDTO;
+import com.example.customerservice.exceptions.ConstraintViolationExceptionHandler;
+import com.example.customerservice.exceptions.CustomerExceptionHandler;
+import com.example.customerservice.idempotency.IdempotencyStore;
+import com.example.customerservice.mapper.CustomerMapper;
+import com.example.customerservice.service.CustomerResult;
 import com.example.customerservice.service.CustomerService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -11,35 +19,68 @@ import java.util.List;
 @RestController
 @RequestMapping("/api")
 public class CustomerRestController {
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final ResponseEntity<Object> NO_CONTENT = ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     private CustomerService customerService;
+    private IdempotencyStore idempotencyStore;
 
-    public CustomerRestController(CustomerService customerService) {
+    public CustomerRestController(CustomerService customerService, IdempotencyStore idempotencyStore) {
         this.customerService = customerService;
+        this.idempotencyStore = idempotencyStore;
     }
     @GetMapping("/customers")
     public List<CustomerDTO> getAllCustomers(){
         return customerService.getAllCustomers();
     }
     @GetMapping("/customers/{id}")
-    public CustomerDTO getCustomerById(@PathVariable Long id){
-        return customerService.findCustomerById(id);
+    public ResponseEntity<?> getCustomerById(@PathVariable Long id){
+        CustomerResult<CustomerDTO> result = customerService.findCustomerById(id);
+        return result.isOk() ? ResponseEntity.ok(result.getValue()) : failure(result);
     }
     @GetMapping("/customers/search")
     public List<CustomerDTO> searchCustomers(@RequestParam String keyword){
         return customerService.searchCustomers(keyword);
     }
+    @GetMapping("/customers/suggest")
+    public List<CustomerSuggestionDTO> suggestCustomers(@RequestParam String prefix,
+                                                        @RequestParam(defaultValue = "10") int limit){
+        return customerService.suggestCustomers(prefix, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+    @GetMapping("/customers/stats")
+    public CustomerStatisticsDTO getCustomerStatistics(@RequestParam(defaultValue = "10") int top){
+        return customerService.getCustomerStatistics(top);
+    }
     @PostMapping("/customers")
-    @ResponseStatus(HttpStatus.CREATED)
-    public CustomerDTO saveCustomer(@RequestBody @Valid CustomerDTO customerDTO){
-        return customerService.saveNewCustomer(customerDTO);
+    public ResponseEntity<?> saveCustomer(@RequestBody @Valid CustomerDTO customerDTO,
+                                          @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey){
+        if(idempotencyKey==null) {
+            CustomerResult<CustomerDTO> result = customerService.saveNewCustomer(customerDTO);
+            return result.isOk() ? ResponseEntity.status(HttpStatus.CREATED).body(result.getValue()) : failure(result);
+        }
+        // only successful responses are remembered, so a conflict leaves the store as an exception,
+        // answered by CustomerExceptionHandler with the same 409 as above
+        String fingerprint = IdempotencyStore.fingerprint(customerDTO.getId(), customerDTO.getFirstName(),
+                customerDTO.getLastName(), CustomerMapper.normalizeEmail(customerDTO.getEmail()));
+        CustomerDTO saved = idempotencyStore.execute(idempotencyKey, fingerprint,
+                ()->customerService.saveNewCustomer(customerDTO).orElseThrow());
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
     @PutMapping("/customers/{id}")
-    public CustomerDTO updateCustomer(@PathVariable Long id,@RequestBody CustomerDTO customerDTO){
-        return customerService.updateCustomer(id,customerDTO);
+    public ResponseEntity<?> updateCustomer(@PathVariable Long id,@RequestBody CustomerDTO customerDTO){
+        CustomerResult<CustomerDTO> result = customerService.updateCustomer(id,customerDTO);
+        return result.isOk() ? ResponseEntity.ok(result.getValue()) : failure(result);
     }
     @DeleteMapping("/customers/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteCustomer(@PathVariable Long id){
-        customerService.deleteCustomer(id);
+    public ResponseEntity<?> deleteCustomer(@PathVariable Long id){
+        CustomerResult<Void> result = customerService.deleteCustomer(id);
+        return result.isOk() ? NO_CONTENT : failure(result);
+    }
+    private static ResponseEntity<?> failure(CustomerResult<?> result){
+        return switch (result.getStatus()) {
+            case NOT_FOUND -> CustomerExceptionHandler.NOT_FOUND;
+            case EMAIL_ALREADY_EXIST -> CustomerExceptionHandler.EMAIL_ALREADY_EXIST;
+            case INVALID -> ConstraintViolationExceptionHandler.badRequest(result.getViolations());
+            case OK -> throw new IllegalArgumentException("Not a failure: " + result);
+        };
     }
 }
@@ -0,0 +1,40 @@
+package com.example.customerservice.web;
+
+import com.example.customerservice.monitoring.AdaptivePoolSizer;
+import com.example.customerservice.monitoring.ConnectionPoolMetrics;
+import com.example.customerservice.monitoring.SqlStatementRecorder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/monitoring")
+public class MonitoringRestController {
+    private SqlStatementRecorder sqlStatementRecorder;
+    private ConnectionPoolMetrics connectionPoolMetrics;
+    private ObjectProvider<AdaptivePoolSizer> adaptivePoolSizer;
+
+    public MonitoringRestController(SqlStatementRecorder sqlStatementRecorder, ConnectionPoolMetrics connectionPoolMetrics,
+                                    ObjectProvider<AdaptivePoolSizer> adaptivePoolSizer) {
+        this.sqlStatementRecorder = sqlStatementRecorder;
+        this.connectionPoolMetrics = connectionPoolMetrics;
+        this.adaptivePoolSizer = adaptivePoolSizer;
+    }
+    @GetMapping("/sql")
+    public Map<String, Object> sqlStatistics(){
+        return sqlStatementRecorder.statistics();
+    }
+    @GetMapping("/pool")
+    public Map<String, Object> poolStatistics(){
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("pools", connectionPoolMetrics.statistics());
+        statistics.put("methods", sqlStatementRecorder.connectionStatistics());
+        AdaptivePoolSizer sizer = adaptivePoolSizer.getIfAvailable();
+        if (sizer != null) statistics.put("adaptiveSizing", sizer.statistics());
+        return statistics;
+    }
+}
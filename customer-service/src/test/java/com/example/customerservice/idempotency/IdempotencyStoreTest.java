@@ -0,0 +1,114 @@
+package com.example.customerservice.idempotency;
+
+import com.example.customerservice.exceptions.EmailAlreadyExistException;
+import com.example.customerservice.exceptions.IdempotencyKeyReusedException;
+import org.assertj.core.api.AssertionsForClassTypes;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class IdempotencyStoreTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final IdempotencyStore underTest =
+            new IdempotencyStore(2, Duration.ofMinutes(10), Duration.ofSeconds(5), clock::get);
+
+    @Test
+    void shouldReplayStoredResponse() {
+        AtomicInteger calls = new AtomicInteger();
+        String first = underTest.execute("key", "request", () -> "response-" + calls.incrementAndGet());
+        String second = underTest.execute("key", "request", () -> "response-" + calls.incrementAndGet());
+        AssertionsForClassTypes.assertThat(second).isEqualTo(first);
+        AssertionsForClassTypes.assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectKeyReusedForAnotherRequest() {
+        underTest.execute("key", "request", () -> "response");
+        AssertionsForClassTypes.assertThatThrownBy(() -> underTest.execute("key", "other request", () -> "other"))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    void fingerprintsShouldNotCollideAcrossFieldBoundaries() {
+        AssertionsForClassTypes.assertThat(IdempotencyStore.fingerprint("Med", "Youssfi", "med@gmail.com"))
+                .isEqualTo(IdempotencyStore.fingerprint("Med", "Youssfi", "med@gmail.com"))
+                .isNotEqualTo(IdempotencyStore.fingerprint("Med;", "Youssfi", "med@gmail.com"))
+                .isNotEqualTo(IdempotencyStore.fingerprint("Med", "Youssfi;med@gmail.com", null))
+                .isNotEqualTo(IdempotencyStore.fingerprint("Med", "Youssfi", "med@gmail.com", null));
+        AssertionsForClassTypes.assertThat(IdempotencyStore.fingerprint((Object) null))
+                .isNotEqualTo(IdempotencyStore.fingerprint("null"))
+                .isNotEqualTo(IdempotencyStore.fingerprint("-"));
+    }
+
+    @Test
+    void shouldRunAgainOnceTheKeyExpired() {
+        AtomicInteger calls = new AtomicInteger();
+        underTest.execute("key", "request", calls::incrementAndGet);
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        underTest.execute("key", "request", calls::incrementAndGet);
+        AssertionsForClassTypes.assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvictOldestKeysBeyondCapacity() {
+        AtomicInteger calls = new AtomicInteger();
+        underTest.execute("a", "request", calls::incrementAndGet);
+        underTest.execute("b", "request", calls::incrementAndGet);
+        underTest.execute("c", "request", calls::incrementAndGet);
+        AssertionsForClassTypes.assertThat(underTest.size()).isEqualTo(2);
+        underTest.execute("a", "request", calls::incrementAndGet);
+        AssertionsForClassTypes.assertThat(calls.get()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldNotRememberFailures() {
+        AssertionsForClassTypes.assertThatThrownBy(() -> underTest.execute("key", "request", () -> {
+            throw new EmailAlreadyExistException();
+        })).isInstanceOf(EmailAlreadyExistException.class);
+        AssertionsForClassTypes.assertThat(underTest.execute("key", "request", () -> "response")).isEqualTo("response");
+    }
+
+    @Test
+    void concurrentRequestsWithSameKeyShouldRunOnce() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(executor.submit(() -> underTest.execute("key", "request", () -> {
+                started.countDown();
+                await(release);
+                return calls.incrementAndGet();
+            })));
+            started.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> underTest.execute("key", "request", calls::incrementAndGet)));
+            }
+            release.countDown();
+            for (Future<Integer> result : results) {
+                AssertionsForClassTypes.assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            }
+            AssertionsForClassTypes.assertThat(calls.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
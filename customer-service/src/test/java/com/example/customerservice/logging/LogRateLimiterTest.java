@@ -0,0 +1,30 @@
+package com.example.customerservice.logging;
+
+import org.assertj.core.api.AssertionsForClassTypes;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LogRateLimiterTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final LogRateLimiter underTest = new LogRateLimiter(2, Duration.ofSeconds(10), clock::get);
+
+    @Test
+    void shouldLetPermitsThroughThenSuppress() {
+        AssertionsForClassTypes.assertThat(underTest.tryAcquire()).isEqualTo(0);
+        AssertionsForClassTypes.assertThat(underTest.tryAcquire()).isEqualTo(0);
+        AssertionsForClassTypes.assertThat(underTest.tryAcquire()).isEqualTo(-1);
+        AssertionsForClassTypes.assertThat(underTest.tryAcquire()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldReportSuppressedEventsWhenTheNextWindowOpens() {
+        for (int i = 0; i < 5; i++) underTest.tryAcquire();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        AssertionsForClassTypes.assertThat(underTest.tryAcquire()).isEqualTo(3);
+        AssertionsForClassTypes.assertThat(underTest.tryAcquire()).isEqualTo(0);
+        AssertionsForClassTypes.assertThat(underTest.tryAcquire()).isEqualTo(-1);
+    }
+}
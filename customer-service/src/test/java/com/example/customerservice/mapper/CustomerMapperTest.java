@@ -51,6 +51,11 @@ class CustomerMapperTest {
         AssertionsForClassTypes.assertThat(expected).usingRecursiveComparison().isEqualTo(result);
     }
     @Test
+    void shouldNormalizeEmail() {
+        AssertionsForClassTypes.assertThat(CustomerMapper.normalizeEmail(" Med@GMAIL.com ")).isEqualTo("med@gmail.com");
+        AssertionsForClassTypes.assertThat(CustomerMapper.normalizeEmail(null)).isNull();
+    }
+    @Test
     void shouldNotMapNullCustomerToCustomerDTO() {
         AssertionsForClassTypes.assertThatThrownBy(
                 ()->customerMapper.fromCustomer(null)
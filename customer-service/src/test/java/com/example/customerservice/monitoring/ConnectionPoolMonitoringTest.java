@@ -0,0 +1,157 @@
+package com.example.customerservice.monitoring;
+
+import com.example.customerservice.entities.Customer;
+import com.example.customerservice.repository.CustomerRepository;
+import com.example.customerservice.service.CustomerService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.minimum-idle=2",
+        "customer.pool.adaptive.enabled=true",
+        "customer.pool.adaptive.min-size=2",
+        "customer.pool.adaptive.max-size=6",
+        "customer.pool.adaptive.step=2",
+        "customer.pool.adaptive.interval=PT1H",
+        "customer.pool.adaptive.max-statement-latency=1s"})
+@AutoConfigureMockMvc
+class ConnectionPoolMonitoringTest {
+    private static final int SLOW_QUERY_MILLIS = 300;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private SqlStatementRecorder recorder;
+    @Autowired
+    private ConnectionPoolMetrics poolMetrics;
+    @Autowired
+    private AdaptivePoolSizer adaptivePoolSizer;
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        SlowQueries.install(jdbcTemplate);
+    }
+
+    @Test
+    void shouldAccountConnectionHoldTimeOfAScope() {
+        try (SqlStatementRecorder.Scope scope = recorder.openScope("test")) {
+            SlowQueries.run(jdbcTemplate, SLOW_QUERY_MILLIS);
+            assertThat(scope.getConnections()).isEqualTo(1);
+            assertThat(scope.getConnectionHoldNanos())
+                    .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(SLOW_QUERY_MILLIS));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAccountConnectionHoldTimePerServiceMethod() {
+        Customer customer = customerRepository.save(Customer.builder()
+                .firstName("Pooled").lastName("Customer").email("pooled@gmail.com").build());
+        try {
+            customerService.findCustomerById(customer.getId());
+            Map<String, Map<String, Object>> methods = (Map<String, Map<String, Object>>) (Map<?, ?>) recorder.connectionStatistics();
+            assertThat(methods).containsKey("CustomerServiceImpl.findCustomerById");
+            assertThat((long) methods.get("CustomerServiceImpl.findCustomerById").get("connections")).isGreaterThanOrEqualTo(1L);
+        } finally {
+            customerRepository.deleteById(customer.getId());
+        }
+    }
+
+    @Test
+    void shouldCreditTheConnectionHoldTimeOfAnHttpRequestToItsServiceMethod() throws Exception {
+        Customer customer = customerRepository.save(Customer.builder()
+                .firstName("Pooled").lastName("Customer").email("http-pooled@gmail.com").build());
+        try {
+            double holdBefore = totalHoldMillis("CustomerServiceImpl.findCustomerById");
+            mockMvc.perform(MockMvcRequestBuilders.get("/api/customers/{id}", customer.getId()))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+            assertThat(totalHoldMillis("CustomerServiceImpl.findCustomerById")).isGreaterThan(holdBefore);
+        } finally {
+            customerRepository.deleteById(customer.getId());
+        }
+    }
+
+    @Test
+    void shouldRecordAcquireWaitAndResizeThePool() throws Exception {
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        runConcurrentSlowQueries(6);
+
+        ConnectionPoolMetrics.PoolTracker tracker = poolMetrics.pool(pool.getPoolName());
+        assertThat(tracker).isNotNull();
+        assertThat((double) tracker.acquireWait().toMap().get("maxMillis")).isGreaterThanOrEqualTo(SLOW_QUERY_MILLIS * 0.8);
+        assertThat(poolMetrics.statistics()).containsKey(pool.getPoolName());
+
+        adaptivePoolSizer.adjust();
+        assertThat(pool.getHikariConfigMXBean().getMaximumPoolSize()).isEqualTo(4);
+        assertThat(pool.getHikariConfigMXBean().getMinimumIdle()).isEqualTo(4);
+        assertThat(adaptivePoolSizer.statistics()).containsEntry("resizes", 1L);
+
+        // open every connection the pool may hold, then let a whole interval go by idle
+        runConcurrentSlowQueries(4);
+        adaptivePoolSizer.adjust();
+        int grown = pool.getHikariConfigMXBean().getMaximumPoolSize();
+        assertThat(pool.getHikariPoolMXBean().getTotalConnections()).isGreaterThanOrEqualTo(4);
+        adaptivePoolSizer.adjust();
+        assertThat(pool.getHikariConfigMXBean().getMaximumPoolSize()).isEqualTo(grown - 2);
+        assertThat(pool.getHikariConfigMXBean().getMinimumIdle()).isEqualTo(grown - 2);
+        Awaitility.await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertThat(pool.getHikariPoolMXBean().getTotalConnections()).isLessThanOrEqualTo(grown - 2));
+
+        runConcurrentSlowQueries(6);
+        adaptivePoolSizer.adjust();
+        assertThat(pool.getHikariConfigMXBean().getMaximumPoolSize()).isEqualTo(grown);
+        assertThat(pool.getHikariConfigMXBean().getMinimumIdle()).isEqualTo(grown);
+    }
+
+    private void runConcurrentSlowQueries(int count) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(count);
+        try {
+            List<Future<?>> queries = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                queries.add(executor.submit(() -> SlowQueries.run(jdbcTemplate, SLOW_QUERY_MILLIS)));
+            }
+            for (Future<?> query : queries) query.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private double totalHoldMillis(String method) {
+        Map<String, Object> statistics = (Map<String, Object>) recorder.connectionStatistics().get(method);
+        if (statistics == null) return 0;
+        return (double) statistics.get("meanHoldMillis") * (long) statistics.get("invocations");
+    }
+}
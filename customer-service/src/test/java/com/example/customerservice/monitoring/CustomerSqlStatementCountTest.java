@@ -0,0 +1,112 @@
+package com.example.customerservice.monitoring;
+
+import com.example.customerservice.dto.CustomerDTO;
+import com.example.customerservice.entities.Customer;
+import com.example.customerservice.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.Map;
+
+import static com.example.customerservice.monitoring.SqlStatementAssertions.assertStatementCount;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class CustomerSqlStatementCountTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private SqlStatementRecorder recorder;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(Customer.builder()
+                .firstName("Mohamed").lastName("Youssfi").email("med@gmail.com").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void getCustomerByIdShouldIssueOneStatement() {
+        assertStatementCount(recorder, 1, () -> mockMvc.perform(MockMvcRequestBuilders.get("/api/customers/{id}", customer.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    void getAllCustomersShouldIssueOneStatement() {
+        assertStatementCount(recorder, 1, () -> mockMvc.perform(MockMvcRequestBuilders.get("/api/customers"))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    void searchCustomersShouldIssueOneStatement() {
+        assertStatementCount(recorder, 1, () -> mockMvc.perform(MockMvcRequestBuilders.get("/api/customers/search?keyword=m"))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    void saveCustomerShouldCheckEmailThenInsert() {
+        CustomerDTO customerDTO = CustomerDTO.builder().firstName("Ahmed").lastName("Yassine").email("ahmed@gmail.com").build();
+        assertStatementCount(recorder, 2, () -> mockMvc.perform(MockMvcRequestBuilders.post("/api/customers")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(customerDTO)))
+                .andExpect(MockMvcResultMatchers.status().isCreated()));
+    }
+
+    @Test
+    void invalidCustomerShouldBeRejectedWithoutAnyStatement() {
+        CustomerDTO customerDTO = CustomerDTO.builder().firstName("").lastName("").email("").build();
+        assertStatementCount(recorder, 0, () -> mockMvc.perform(MockMvcRequestBuilders.post("/api/customers")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(customerDTO)))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName.size()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email.size()").value(2)));
+    }
+
+    @Test
+    void updateCustomerShouldSelectThenUpdate() {
+        CustomerDTO customerDTO = CustomerDTO.builder().firstName("Mohamed").lastName("Updated").email("med@gmail.com").build();
+        assertStatementCount(recorder, 2, () -> mockMvc.perform(MockMvcRequestBuilders.put("/api/customers/{id}", customer.getId())
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(customerDTO)))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    void deleteCustomerShouldSelectThenDelete() {
+        assertStatementCount(recorder, 2, () -> mockMvc.perform(MockMvcRequestBuilders.delete("/api/customers/{id}", customer.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent()));
+    }
+
+    @Test
+    void shouldAccountStatementsPerServiceMethod() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/customers/{id}", customer.getId()));
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> methods =
+                (Map<String, Map<String, Object>>) recorder.statistics().get("methods");
+        assertThat(methods).containsKey("CustomerServiceImpl.findCustomerById");
+        assertThat((long) methods.get("CustomerServiceImpl.findCustomerById").get("maxStatements")).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.customerservice.monitoring;
+
+import org.assertj.core.api.AssertionsForClassTypes;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class PoolSizingPolicyTest {
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private final PoolSizingPolicy underTest = new PoolSizingPolicy(4, 10, 2, 5 * MILLI, 50 * MILLI);
+
+    @Test
+    void shouldGrowWhenRequestsWaitAndTheDatabaseIsFast() {
+        PoolSizingPolicy.Sample sample = new PoolSizingPolicy.Sample(100, 20 * MILLI, 0, 3, 6, 2 * MILLI);
+        AssertionsForClassTypes.assertThat(underTest.nextSize(6, sample)).isEqualTo(8);
+        AssertionsForClassTypes.assertThat(underTest.nextSize(10, sample)).isEqualTo(10);
+    }
+
+    @Test
+    void shouldGrowOnTimeouts() {
+        PoolSizingPolicy.Sample sample = new PoolSizingPolicy.Sample(100, MILLI, 1, 0, 6, 2 * MILLI);
+        AssertionsForClassTypes.assertThat(underTest.nextSize(6, sample)).isEqualTo(8);
+    }
+
+    @Test
+    void shouldNotGrowWhenTheDatabaseIsTheBottleneck() {
+        PoolSizingPolicy.Sample sample = new PoolSizingPolicy.Sample(100, 20 * MILLI, 0, 3, 6, 200 * MILLI);
+        AssertionsForClassTypes.assertThat(underTest.nextSize(6, sample)).isEqualTo(6);
+    }
+
+    @Test
+    void shouldShrinkWhenConnectionsAreMostlyIdle() {
+        PoolSizingPolicy.Sample sample = new PoolSizingPolicy.Sample(100, 0, 0, 0, 1.5, 2 * MILLI);
+        AssertionsForClassTypes.assertThat(underTest.nextSize(8, sample)).isEqualTo(6);
+        AssertionsForClassTypes.assertThat(underTest.nextSize(4, sample)).isEqualTo(4);
+    }
+
+    @Test
+    void shouldKeepTheSizeWhenBusyWithoutWaiting() {
+        PoolSizingPolicy.Sample sample = new PoolSizingPolicy.Sample(100, MILLI, 0, 0, 5, 2 * MILLI);
+        AssertionsForClassTypes.assertThat(underTest.nextSize(8, sample)).isEqualTo(8);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.customerservice.monitoring;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Artificially slow query for H2: {@code SELECT SLOW_QUERY(millis)} keeps its
+ * connection busy for the given time, standing in for a slow database.
+ */
+public final class SlowQueries {
+
+    private SlowQueries() {
+    }
+
+    public static int sleep(int millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return millis;
+    }
+
+    public static void install(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS SLOW_QUERY FOR '" + SlowQueries.class.getName() + ".sleep'");
+    }
+
+    public static void run(JdbcTemplate jdbcTemplate, int millis) {
+        jdbcTemplate.queryForObject("SELECT SLOW_QUERY(?)", Integer.class, millis);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.customerservice.monitoring;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "customer.sql.monitoring.enabled=false")
+class SqlMonitoringDisabledTest {
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SqlStatementRecorder recorder;
+    @Autowired
+    private ConnectionPoolMetrics poolMetrics;
+
+    @Test
+    void dataSourceShouldNotBeWrapped() {
+        assertThat(dataSource).isInstanceOf(HikariDataSource.class);
+        try (SqlStatementRecorder.Scope scope = recorder.openScope("test")) {
+            jdbcTemplate.queryForObject("select count(*) from customer", Long.class);
+            assertThat(scope.getStatements()).isZero();
+            assertThat(scope.getConnections()).isZero();
+        }
+        assertThat(poolMetrics.statistics()).isEmpty();
+    }
+}
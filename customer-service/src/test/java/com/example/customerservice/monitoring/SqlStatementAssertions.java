@@ -0,0 +1,27 @@
+package com.example.customerservice.monitoring;
+
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the number of JDBC round trips of a piece of code, so that an extra
+ * query sneaking into a request path fails the build.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static void assertStatementCount(SqlStatementRecorder recorder, int expected, ThrowingCallable action) {
+        try (SqlStatementRecorder.Scope scope = recorder.openScope("test")) {
+            try {
+                action.call();
+            } catch (Throwable e) {
+                throw new AssertionError("Action under statement count failed", e);
+            }
+            assertThat(scope.getStatements()).as("SQL statements executed").isEqualTo(expected);
+            assertThat(scope.getDuplicates()).as("duplicate SQL statements in a transaction").isZero();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.customerservice.monitoring;
+
+import com.example.customerservice.entities.Customer;
+import com.example.customerservice.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "customer.sql.slow-threshold=100ms",
+        "customer.logging.appender=CONSOLE"})
+@ExtendWith(OutputCaptureExtension.class)
+class SqlStatementRecorderTest {
+    private static final int SLOW_QUERY_MILLIS = 150;
+
+    @Autowired
+    private SqlStatementRecorder recorder;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository.save(Customer.builder().firstName("Mohamed").lastName("Youssfi").email("med@gmail.com").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void sameQueryTwiceInATransactionShouldBeADuplicate(CapturedOutput output) {
+        long duplicatesBefore = duplicateStatements();
+        try (SqlStatementRecorder.Scope scope = recorder.openScope("test")) {
+            transactionTemplate.executeWithoutResult(status -> {
+                customerRepository.findByEmail("med@gmail.com");
+                customerRepository.findByEmail("imane@gmail.com");
+                customerRepository.findByEmail("med@gmail.com");
+            });
+            assertThat(scope.getStatements()).isEqualTo(3);
+            assertThat(scope.getDuplicates()).isEqualTo(1);
+        }
+        assertThat(duplicateStatements()).isEqualTo(duplicatesBefore + 1);
+        assertThat(output.getOut()).contains("Duplicate query in the same transaction").contains("binds=[med@gmail.com]");
+    }
+
+    @Test
+    void sameQueryInTwoTransactionsShouldNotBeADuplicate() {
+        try (SqlStatementRecorder.Scope scope = recorder.openScope("test")) {
+            transactionTemplate.executeWithoutResult(status -> customerRepository.findByEmail("med@gmail.com"));
+            transactionTemplate.executeWithoutResult(status -> customerRepository.findByEmail("med@gmail.com"));
+            customerRepository.findByEmail("med@gmail.com");
+            customerRepository.findByEmail("med@gmail.com");
+            assertThat(scope.getStatements()).isEqualTo(4);
+            assertThat(scope.getDuplicates()).isZero();
+        }
+    }
+
+    @Test
+    void statementsOverTheThresholdShouldBeLoggedAsSlow(CapturedOutput output) {
+        SlowQueries.install(jdbcTemplate);
+        long slowBefore = slowStatements();
+        SlowQueries.run(jdbcTemplate, 0);
+        assertThat(slowStatements()).isEqualTo(slowBefore);
+        assertThat(output.getOut()).doesNotContain("Slow query");
+
+        SlowQueries.run(jdbcTemplate, SLOW_QUERY_MILLIS);
+        assertThat(slowStatements()).isEqualTo(slowBefore + 1);
+        assertThat(output.getOut()).containsPattern("Slow query \\(\\d+ ms\\): SELECT SLOW_QUERY\\(\\?\\) binds=\\[150\\]");
+    }
+
+    private long duplicateStatements() {
+        return (long) recorder.statistics().get("duplicateStatements");
+    }
+
+    private long slowStatements() {
+        return (long) recorder.statistics().get("slowStatements");
+    }
+}
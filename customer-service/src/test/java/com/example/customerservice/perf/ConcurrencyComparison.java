@@ -0,0 +1,94 @@
+package com.example.customerservice.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads the results files of the servlet and reactive runs of
+ * {@link ConcurrencyLoadRunner} and puts their throughput, heap growth under
+ * load and peak thread count side by side. Whichever module runs second
+ * produces the comparison; until both files exist there is nothing to compare.
+ * Files left over from a run with other settings (or another
+ * {@code perf.concurrency.run-id}) are not compared either.
+ */
+public class ConcurrencyComparison {
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyComparison.class);
+
+    public record Delta(double mvc, double reactive) {
+        public double difference() {
+            return reactive - mvc;
+        }
+
+        public double ratio() {
+            return mvc == 0 ? 0 : reactive / mvc;
+        }
+    }
+
+    public record Result(Delta throughputPerSecond, Delta heapGrowthBytes, Delta peakThreads) {
+        /**
+         * The reactive stack must serve the same load with fewer threads and
+         * at least {@code minThroughputRatio} of the servlet throughput
+         * ({@code perf.concurrency.min-throughput-ratio}, 0 by default since
+         * short runs on a cold JVM are not representative).
+         */
+        public void assertReactiveKeepsUp(double minThroughputRatio) {
+            assertThat(peakThreads.reactive()).isLessThan(peakThreads.mvc());
+            assertThat(throughputPerSecond.ratio()).isGreaterThanOrEqualTo(minThroughputRatio);
+        }
+    }
+
+    public static Optional<Result> compare(Path mvcResults, Path reactiveResults, Path comparisonFile)
+            throws IOException {
+        if (!Files.exists(mvcResults) || !Files.exists(reactiveResults)) return Optional.empty();
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode mvc = objectMapper.readTree(mvcResults.toFile());
+        JsonNode reactive = objectMapper.readTree(reactiveResults.toFile());
+        if (!mvc.path("settings").equals(reactive.path("settings"))) {
+            log.warn("Not comparing {} with {}: they were not run with the same settings ({} vs {})",
+                    mvcResults, reactiveResults, mvc.path("settings"), reactive.path("settings"));
+            return Optional.empty();
+        }
+        Result result = new Result(
+                new Delta(mvc.get("throughputPerSecond").asDouble(), reactive.get("throughputPerSecond").asDouble()),
+                new Delta(heapGrowth(mvc), heapGrowth(reactive)),
+                new Delta(mvc.get("peakThreads").asDouble(), reactive.get("peakThreads").asDouble()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("mvcResults", mvcResults.toAbsolutePath().normalize().toString());
+        report.put("reactiveResults", reactiveResults.toAbsolutePath().normalize().toString());
+        report.put("throughputPerSecond", report(result.throughputPerSecond()));
+        report.put("heapGrowthBytes", report(result.heapGrowthBytes()));
+        report.put("peakThreads", report(result.peakThreads()));
+        Files.createDirectories(comparisonFile.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(comparisonFile.toFile(), report);
+        log.info("reactive vs mvc: throughput x{}, heap growth {} MB, peak threads {}",
+                String.format("%.2f", result.throughputPerSecond().ratio()),
+                String.format("%+.1f", result.heapGrowthBytes().difference() / (1024 * 1024)),
+                String.format("%+.0f", result.peakThreads().difference()));
+        return Optional.of(result);
+    }
+
+    private static double heapGrowth(JsonNode results) {
+        return results.get("peakHeapBytes").asDouble() - results.get("baselineHeapBytes").asDouble();
+    }
+
+    private static Map<String, Object> report(Delta delta) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("mvc", delta.mvc());
+        report.put("reactive", delta.reactive());
+        report.put("difference", delta.difference());
+        report.put("ratio", delta.ratio());
+        return report;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.customerservice.perf;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Closed model load: {@code clients} simulated users each keep exactly one
+ * request in flight for the whole run, using the asynchronous JDK client so
+ * that the load generator itself needs only a handful of threads. Reports
+ * throughput, latency percentiles and the peak heap and thread count of the
+ * JVM. customer-service-reactive runs the same runner through the test-jar
+ * of this module, so both results files have the same shape and can be read
+ * back by {@link ConcurrencyComparison}. The run settings, including the
+ * optional {@code perf.concurrency.run-id}, are written along with the
+ * results so that only runs of the same workload get compared.
+ */
+public class ConcurrencyLoadRunner {
+
+    public record Operation(String name, int weight, int expectedStatus, Supplier<HttpRequest> request) {
+    }
+
+    public static Map<String, Object> run(String stack, int datasetSize, int clients, Duration duration,
+                                          Operation... operations) throws InterruptedException {
+        int totalWeight = 0;
+        for (Operation operation : operations) totalWeight += operation.weight();
+        Operation[] schedule = new Operation[totalWeight];
+        int slot = 0;
+        for (Operation operation : operations) {
+            for (int w = 0; w < operation.weight(); w++) schedule[slot++] = operation;
+        }
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        for (Operation operation : operations) recorders.put(operation.name(), new LatencyRecorder());
+
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.gc();
+        long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+        threads.resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong(baselineHeap);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 50, TimeUnit.MILLISECONDS);
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch finished = new CountDownLatch(clients);
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            new Client(httpClient, schedule, recorders, deadline, finished).next();
+        }
+        finished.await(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        sampler.shutdownNow();
+        clientExecutor.shutdownNow();
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long requests = 0;
+        for (Map.Entry<String, LatencyRecorder> entry : recorders.entrySet()) {
+            LatencyRecorder.Snapshot snapshot = entry.getValue().snapshot();
+            requests += snapshot.count();
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("count", snapshot.count());
+            report.put("errors", snapshot.errors());
+            report.put("p50Millis", snapshot.percentileMillis(50));
+            report.put("p99Millis", snapshot.percentileMillis(99));
+            report.put("maxMillis", snapshot.maxMillis());
+            endpoints.put(entry.getKey(), report);
+        }
+        Map<String, Object> weights = new LinkedHashMap<>();
+        for (Operation operation : operations) weights.put(operation.name(), operation.weight());
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("runId", System.getProperty("perf.concurrency.run-id"));
+        settings.put("datasetSize", datasetSize);
+        settings.put("clients", clients);
+        settings.put("durationSeconds", duration.toSeconds());
+        settings.put("operations", weights);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("stack", stack);
+        result.put("settings", settings);
+        result.put("clients", clients);
+        result.put("elapsedSeconds", elapsedSeconds);
+        result.put("throughputPerSecond", requests / elapsedSeconds);
+        result.put("baselineHeapBytes", baselineHeap);
+        result.put("peakHeapBytes", peakHeap.get());
+        result.put("peakThreads", threads.getPeakThreadCount());
+        result.put("endpoints", endpoints);
+        return result;
+    }
+
+    private static final class Client {
+        private final HttpClient httpClient;
+        private final Operation[] schedule;
+        private final Map<String, LatencyRecorder> recorders;
+        private final long deadline;
+        private final CountDownLatch finished;
+
+        private Client(HttpClient httpClient, Operation[] schedule, Map<String, LatencyRecorder> recorders,
+                       long deadline, CountDownLatch finished) {
+            this.httpClient = httpClient;
+            this.schedule = schedule;
+            this.recorders = recorders;
+            this.deadline = deadline;
+            this.finished = finished;
+        }
+
+        void next() {
+            if (System.nanoTime() - deadline >= 0) {
+                finished.countDown();
+                return;
+            }
+            Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+            long start = System.nanoTime();
+            httpClient.sendAsync(operation.request().get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        boolean success = error == null && response.statusCode() == operation.expectedStatus();
+                        recorders.get(operation.name()).record(System.nanoTime() - start, success);
+                        next();
+                    });
+        }
+    }
+}
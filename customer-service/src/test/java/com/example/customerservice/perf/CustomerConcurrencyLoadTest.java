@@ -0,0 +1,103 @@
+package com.example.customerservice.perf;
+
+import com.example.customerservice.entities.Customer;
+import com.example.customerservice.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * High concurrency run of the servlet stack, the counterpart of
+ * {@code ReactiveCustomerConcurrencyLoadTest} in customer-service-reactive:
+ * same workload, same runner, same results format
+ * ({@code target/perf/mvc-concurrency.json}). When the reactive results are
+ * already there, both runs are compared into
+ * {@code target/perf/concurrency-comparison.json}.
+ * Run with {@code mvn -Pperf test -Dtest=CustomerConcurrencyLoadTest}.
+ */
+@Tag("perf")
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.example.customerservice=WARN")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CustomerConcurrencyLoadTest {
+    private final int datasetSize = Integer.getInteger("perf.concurrency.dataset.size", 2_000);
+    private final int clients = Integer.getInteger("perf.concurrency.clients", 512);
+    private final Duration duration = Duration.ofSeconds(Integer.getInteger("perf.concurrency.seconds", 20));
+    private final double minThroughputRatio = Double.parseDouble(
+            System.getProperty("perf.concurrency.min-throughput-ratio", "0"));
+    private final AtomicLong emailSequence = new AtomicLong();
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    private List<Long> ids;
+
+    @BeforeAll
+    void seedDataset() {
+        customerRepository.deleteAllInBatch();
+        List<Customer> customers = new ArrayList<>(datasetSize);
+        for (int i = 0; i < datasetSize; i++) {
+            customers.add(Customer.builder()
+                    .firstName("Customer" + i).lastName("Seeded").email("customer" + i + "@load.test").build());
+        }
+        ids = customerRepository.saveAll(customers).stream().map(Customer::getId).toList();
+    }
+
+    @Test
+    void shouldServeHighConcurrency() throws Exception {
+        Map<String, Object> result = ConcurrencyLoadRunner.run("mvc", datasetSize, clients, duration,
+                new ConcurrencyLoadRunner.Operation("getById", 60, 200,
+                        () -> get("/api/customers/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())))),
+                new ConcurrencyLoadRunner.Operation("search", 25, 200,
+                        () -> get("/api/customers/search?keyword=" + ThreadLocalRandom.current().nextInt(datasetSize))),
+                new ConcurrencyLoadRunner.Operation("list", 5, 200, () -> get("/api/customers")),
+                new ConcurrencyLoadRunner.Operation("create", 10, 201, () -> {
+                    long n = emailSequence.incrementAndGet();
+                    return HttpRequest.newBuilder(uri("/api/customers"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"firstName\":\"Created" + n
+                                    + "\",\"lastName\":\"Load\",\"email\":\"created" + n + "@load.test\"}"))
+                            .build();
+                }));
+        Path resultsFile = Path.of(System.getProperty("perf.concurrency.results.file", "target/perf/mvc-concurrency.json"));
+        Files.createDirectories(resultsFile.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(resultsFile.toFile(), result);
+        assertThat((double) result.get("throughputPerSecond")).isPositive();
+
+        Path reactiveResults = Path.of(System.getProperty("perf.concurrency.reactive.results.file",
+                "../customer-service-reactive/target/perf/reactive-concurrency.json"));
+        ConcurrencyComparison.compare(resultsFile, reactiveResults, resultsFile.resolveSibling("concurrency-comparison.json"))
+                .ifPresent(comparison -> comparison.assertReactiveKeepsUp(minThroughputRatio));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
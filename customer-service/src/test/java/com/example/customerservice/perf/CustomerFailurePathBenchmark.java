@@ -0,0 +1,109 @@
+package com.example.customerservice.perf;
+
+import com.example.customerservice.dto.CustomerDTO;
+import com.example.customerservice.entities.Customer;
+import com.example.customerservice.repository.CustomerRepository;
+import com.example.customerservice.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the cost of the 404 and 409 paths with the cost of a hit, through
+ * the whole MVC stack and at the service boundary. Results go to {@code target/perf/failure-paths.json}.
+ * Run with {@code mvn -Pperf test -Dtest=CustomerFailurePathBenchmark}.
+ */
+@Tag("perf")
+@ActiveProfiles("test")
+@SpringBootTest(properties = "logging.level.com.example.customerservice=OFF")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CustomerFailurePathBenchmark {
+    private final int warmup = Integer.getInteger("perf.failure.warmup", 20_000);
+    private final int iterations = Integer.getInteger("perf.failure.iterations", 20_000);
+    private final double maxRatio = Double.parseDouble(System.getProperty("perf.failure.max-ratio", "1.5"));
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    private Customer existing;
+
+    @BeforeAll
+    void seed() {
+        customerRepository.deleteAllInBatch();
+        existing = customerRepository.save(Customer.builder()
+                .firstName("Existing").lastName("Customer").email("existing@failure.test").build());
+    }
+
+    @Test
+    void failurePathsShouldCostAboutAsMuchAsAHit() throws Exception {
+        long missingId = existing.getId() + 1_000_000;
+        String duplicate = objectMapper.writeValueAsString(CustomerDTO.builder()
+                .firstName("Duplicate").lastName("Customer").email(existing.getEmail()).build());
+
+        Map<String, Action> actions = new LinkedHashMap<>();
+        actions.put("httpGetHit", () -> mockMvc.perform(MockMvcRequestBuilders.get("/api/customers/{id}", existing.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk()));
+        actions.put("httpGetNotFound", () -> mockMvc.perform(MockMvcRequestBuilders.get("/api/customers/{id}", missingId))
+                .andExpect(MockMvcResultMatchers.status().isNotFound()));
+        actions.put("httpPostConflict", () -> mockMvc.perform(MockMvcRequestBuilders.post("/api/customers")
+                        .contentType(MediaType.APPLICATION_JSON).content(duplicate))
+                .andExpect(MockMvcResultMatchers.status().isConflict()));
+        actions.put("serviceHit", () -> customerService.findCustomerById(existing.getId()));
+        actions.put("serviceNotFound", () -> customerService.findCustomerById(missingId));
+
+        Map<String, Double> nanosPerOperation = new LinkedHashMap<>();
+        for (Map.Entry<String, Action> entry : actions.entrySet()) {
+            nanosPerOperation.put(entry.getKey(), measure(entry.getValue()));
+        }
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("timestamp", Instant.now().toString());
+        results.put("iterations", iterations);
+        results.put("nanosPerOperation", nanosPerOperation);
+        Path resultsFile = Path.of(System.getProperty("perf.failure.results.file", "target/perf/failure-paths.json"));
+        Files.createDirectories(resultsFile.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(resultsFile.toFile(), results);
+
+        double hit = nanosPerOperation.get("httpGetHit");
+        assertThat(nanosPerOperation.get("httpGetNotFound")).isLessThanOrEqualTo(hit * maxRatio);
+        assertThat(nanosPerOperation.get("httpPostConflict")).isLessThanOrEqualTo(hit * maxRatio);
+        assertThat(nanosPerOperation.get("serviceNotFound"))
+                .isLessThanOrEqualTo(nanosPerOperation.get("serviceHit") * maxRatio);
+    }
+
+    private double measure(Action action) throws Exception {
+        for (int i = 0; i < warmup; i++) action.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) action.run();
+        return (double) (System.nanoTime() - start) / iterations;
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run() throws Exception;
+    }
+}
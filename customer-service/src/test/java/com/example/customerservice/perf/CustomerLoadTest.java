@@ -0,0 +1,176 @@
+package com.example.customerservice.perf;
+
+import com.example.customerservice.entities.Customer;
+import com.example.customerservice.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Offline macro benchmark of the customer API: boots the service on H2, seeds
+ * {@code perf.dataset.size} customers and drives a mixed workload through the
+ * real HTTP stack. Excluded from the default build, run it with
+ * {@code mvn -Pperf test}. See {@link LoadTestSettings} for the knobs.
+ */
+@Tag("perf")
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.com.example.customerservice=WARN")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CustomerLoadTest {
+    private static final int BATCH_SIZE = 1_000;
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p99", "p999"};
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final AtomicLong emailSequence = new AtomicLong();
+    private final ConcurrentLinkedQueue<Long> deletableIds = new ConcurrentLinkedQueue<>();
+    private long[] seededIds;
+
+    @BeforeAll
+    void seedDataset() {
+        customerRepository.deleteAllInBatch();
+        int deletable = Math.max(settings.datasetSize() / 10, 100);
+        List<Long> ids = new ArrayList<>(settings.datasetSize());
+        List<Customer> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < settings.datasetSize() + deletable; i++) {
+            batch.add(Customer.builder()
+                    .firstName("Customer" + i).lastName("Seeded").email("customer" + i + "@load.test").build());
+            if (batch.size() == BATCH_SIZE || i == settings.datasetSize() + deletable - 1) {
+                customerRepository.saveAll(batch).forEach(c -> ids.add(c.getId()));
+                batch.clear();
+            }
+        }
+        seededIds = ids.subList(0, settings.datasetSize()).stream().mapToLong(Long::longValue).toArray();
+        deletableIds.addAll(ids.subList(settings.datasetSize(), ids.size()));
+    }
+
+    @Test
+    void shouldStayWithinLatencyBudgets() throws Exception {
+        LoadGenerator generator = new LoadGenerator(operations(), settings.mix());
+        generator.run(settings.targetRate(), settings.concurrency(), settings.warmup());
+        LoadGenerator.Result result = generator.run(settings.targetRate(), settings.concurrency(), settings.duration());
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        List<String> violations = new ArrayList<>();
+        result.recorders().forEach((endpoint, recorder) -> {
+            LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("count", snapshot.count());
+            report.put("errors", snapshot.errors());
+            report.put("throughputPerSecond", snapshot.count() / result.elapsedSeconds());
+            Map<String, Object> budgets = new LinkedHashMap<>();
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                double observed = snapshot.percentileMillis(PERCENTILES[i]);
+                double budget = settings.budgetMillis(endpoint, PERCENTILE_NAMES[i]);
+                report.put(PERCENTILE_NAMES[i] + "Millis", observed);
+                budgets.put(PERCENTILE_NAMES[i] + "Millis", budget);
+                if (snapshot.count() > 0 && observed > budget) {
+                    violations.add(String.format("%s %s = %.2f ms exceeds budget of %.2f ms",
+                            endpoint, PERCENTILE_NAMES[i], observed, budget));
+                }
+            }
+            report.put("maxMillis", snapshot.maxMillis());
+            report.put("budgets", budgets);
+            if (snapshot.errors() > 0) {
+                violations.add(String.format("%s had %d unexpected responses", endpoint, snapshot.errors()));
+            }
+            endpoints.put(endpoint, report);
+        });
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("timestamp", Instant.now().toString());
+        results.put("settings", settings);
+        results.put("elapsedSeconds", result.elapsedSeconds());
+        results.put("endpoints", endpoints);
+        results.put("violations", violations);
+        Files.createDirectories(settings.resultsFile().toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(settings.resultsFile().toFile(), results);
+
+        assertThat(violations).as("Latency budget violations, see %s", settings.resultsFile()).isEmpty();
+    }
+
+    private Map<String, LoadGenerator.Operation> operations() {
+        Map<String, LoadGenerator.Operation> operations = new LinkedHashMap<>();
+        operations.put("getById", () -> send(get("/api/customers/" + randomSeededId())) == 200);
+        operations.put("search", () -> send(get("/api/customers/search?keyword="
+                + ThreadLocalRandom.current().nextInt(settings.datasetSize()))) == 200);
+        operations.put("list", () -> send(get("/api/customers")) == 200);
+        operations.put("create", () -> {
+            long n = emailSequence.incrementAndGet();
+            String body = objectMapper.writeValueAsString(Map.of(
+                    "firstName", "Created" + n, "lastName", "Load", "email", "created" + n + "@load.test"));
+            HttpResponse<String> response = httpClient.send(json("POST", "/api/customers", body),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) return false;
+            deletableIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+            return true;
+        });
+        operations.put("update", () -> {
+            int index = ThreadLocalRandom.current().nextInt(seededIds.length);
+            String body = objectMapper.writeValueAsString(Map.of(
+                    "firstName", "Customer" + index, "lastName", "Updated", "email", "customer" + index + "@load.test"));
+            return send(json("PUT", "/api/customers/" + seededIds[index], body)) == 200;
+        });
+        operations.put("delete", () -> {
+            Long id = deletableIds.poll();
+            if (id == null) return false;
+            return send(HttpRequest.newBuilder(uri("/api/customers/" + id)).DELETE().build()) == 204;
+        });
+        return operations;
+    }
+
+    private long randomSeededId() {
+        return seededIds[ThreadLocalRandom.current().nextInt(seededIds.length)];
+    }
+
+    private int send(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest json(String method, String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.customerservice.perf;
+
+import java.util.Arrays;
+
+/**
+ * Collects raw latency samples (in nanoseconds) for one endpoint. Samples are
+ * kept as-is and sorted once at the end, which is exact and cheap enough for
+ * the few hundred thousand samples a load test run produces.
+ */
+public class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    public synchronized void record(long latencyNanos, boolean success) {
+        if (!success) {
+            errors++;
+        }
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyNanos;
+    }
+
+    public synchronized Snapshot snapshot() {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Snapshot(sorted, errors);
+    }
+
+    public record Snapshot(long[] sorted, long errors) {
+        public int count() {
+            return sorted.length;
+        }
+
+        public double percentileMillis(double percentile) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+        }
+
+        public double maxMillis() {
+            return sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.customerservice.perf;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-JVM open model load generator: requests are scheduled at a fixed target
+ * rate and their latency is measured from the <em>intended</em> start time, so
+ * that queueing in front of a slow server shows up in the percentiles instead
+ * of silently lowering the offered load (coordinated omission).
+ */
+public class LoadGenerator {
+
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * @return {@code true} when the response is the expected one
+         */
+        boolean execute() throws Exception;
+    }
+
+    private final Map<String, Operation> operations;
+    private final String[] schedule;
+
+    public LoadGenerator(Map<String, Operation> operations, Map<String, Integer> mix) {
+        this.operations = operations;
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.schedule = new String[total];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            if (!operations.containsKey(entry.getKey())) {
+                throw new IllegalArgumentException("Unknown operation in mix: " + entry.getKey());
+            }
+            for (int w = 0; w < entry.getValue(); w++) schedule[i++] = entry.getKey();
+        }
+    }
+
+    public Result run(int targetRate, int concurrency, Duration duration) throws InterruptedException {
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        operations.keySet().forEach(name -> recorders.put(name, new LatencyRecorder()));
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / targetRate;
+        long durationNanos = duration.toNanos();
+        long start = System.nanoTime();
+        try {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended - start >= durationNanos) break;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+                String name = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+                Operation operation = operations.get(name);
+                LatencyRecorder recorder = recorders.get(name);
+                executor.execute(() -> {
+                    boolean success;
+                    try {
+                        success = operation.execute();
+                    } catch (Exception e) {
+                        success = false;
+                    }
+                    recorder.record(System.nanoTime() - intended, success);
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            // the recorders would be read while requests are still completing
+            executor.shutdownNow();
+            throw new IllegalStateException("Requests still running one minute after the end of the run");
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        return new Result(recorders, elapsedNanos / 1_000_000_000.0);
+    }
+
+    public record Result(Map<String, LatencyRecorder> recorders, double elapsedSeconds) {
+    }
+}
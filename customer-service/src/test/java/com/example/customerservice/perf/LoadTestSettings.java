@@ -0,0 +1,57 @@
+package com.example.customerservice.perf;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test knobs, read from system properties so that CI can tune them with
+ * {@code -Dperf.xxx=...} without touching the code.
+ */
+public record LoadTestSettings(int datasetSize,
+                               int targetRate,
+                               int concurrency,
+                               Duration warmup,
+                               Duration duration,
+                               Map<String, Integer> mix,
+                               Path resultsFile) {
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("perf.dataset.size", 10_000),
+                Integer.getInteger("perf.target.rate", 400),
+                Integer.getInteger("perf.concurrency", 32),
+                Duration.ofSeconds(Integer.getInteger("perf.warmup.seconds", 5)),
+                Duration.ofSeconds(Integer.getInteger("perf.duration.seconds", 20)),
+                parseMix(System.getProperty("perf.mix", "getById=50,search=15,list=1,create=12,update=14,delete=8")),
+                Path.of(System.getProperty("perf.results.file", "target/perf/customer-load-test.json")));
+    }
+
+    /**
+     * Latency budget in milliseconds for the given endpoint and percentile
+     * ({@code p50}, {@code p99} or {@code p999}). A per endpoint value
+     * ({@code perf.budget.search.p99.ms}) wins over the global one
+     * ({@code perf.budget.p99.ms}).
+     */
+    public double budgetMillis(String endpoint, String percentile) {
+        String specific = System.getProperty("perf.budget." + endpoint + "." + percentile + ".ms");
+        if (specific != null) return Double.parseDouble(specific);
+        String global = System.getProperty("perf.budget." + percentile + ".ms");
+        if (global != null) return Double.parseDouble(global);
+        return switch (percentile) {
+            case "p50" -> "list".equals(endpoint) ? 250 : 20;
+            case "p99" -> "list".equals(endpoint) ? 1_000 : 100;
+            default -> "list".equals(endpoint) ? 2_000 : 250;
+        };
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
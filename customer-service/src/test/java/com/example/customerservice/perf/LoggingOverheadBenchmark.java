@@ -0,0 +1,146 @@
+package com.example.customerservice.perf;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.example.customerservice.dto.CustomerDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Request thread cost of logging one "Saving new Customer" line, before
+ * (eager {@code String.format}, synchronous appender) and after (fluent
+ * parameterized event, async appender configured like logback-spring.xml),
+ * with the level enabled and disabled. Results go to
+ * {@code target/perf/logging-overhead.json}.
+ * Run with {@code mvn -Pperf test -Dtest=LoggingOverheadBenchmark}.
+ */
+@Tag("perf")
+class LoggingOverheadBenchmark {
+    private final int threads = Integer.getInteger("perf.logging.threads", 8);
+    private final int iterations = Integer.getInteger("perf.logging.iterations", 50_000);
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+    private final CustomerDTO customerDTO = CustomerDTO.builder()
+            .id(42L).firstName("Mohamed").lastName("Youssfi").email("med@gmail.com").build();
+
+    @AfterEach
+    void stopAppenders() {
+        appenders.forEach(Appender::stop);
+    }
+
+    @Test
+    void shouldMeasureRequestThreadOverhead() throws Exception {
+        Logger sync = logger("perf.logging.sync", Level.INFO, fileAppender("sync"));
+        Logger async = logger("perf.logging.async", Level.INFO, asyncAppender(fileAppender("async")));
+        Logger disabled = logger("perf.logging.disabled", Level.WARN, fileAppender("disabled"));
+
+        Map<String, Double> nanosPerCall = new LinkedHashMap<>();
+        nanosPerCall.put("eagerFormatSync", measure(sync, this::eagerFormat));
+        nanosPerCall.put("fluentSync", measure(sync, this::fluent));
+        nanosPerCall.put("fluentAsync", measure(async, this::fluent));
+        nanosPerCall.put("eagerFormatDisabled", measure(disabled, this::eagerFormat));
+        nanosPerCall.put("fluentDisabled", measure(disabled, this::fluent));
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("timestamp", Instant.now().toString());
+        results.put("threads", threads);
+        results.put("iterationsPerThread", iterations);
+        results.put("nanosPerCall", nanosPerCall);
+        Path resultsFile = Path.of(System.getProperty("perf.logging.results.file", "target/perf/logging-overhead.json"));
+        Files.createDirectories(resultsFile.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(resultsFile.toFile(), results);
+
+        assertThat(nanosPerCall.get("fluentAsync")).isLessThan(nanosPerCall.get("eagerFormatSync"));
+        assertThat(nanosPerCall.get("fluentDisabled")).isLessThan(nanosPerCall.get("eagerFormatDisabled"));
+    }
+
+    private void eagerFormat(Logger logger) {
+        logger.info(String.format("Saving new Customer => %s ", customerDTO.toString()));
+    }
+
+    private void fluent(Logger logger) {
+        logger.atInfo().setMessage("Saving new Customer => {}").addArgument(customerDTO)
+                .addKeyValue("email", customerDTO.getEmail()).log();
+    }
+
+    private double measure(Logger logger, Consumer<Logger> call) throws Exception {
+        for (int i = 0; i < iterations; i++) call.accept(logger);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> elapsed = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                elapsed.add(executor.submit(() -> {
+                    long start = System.nanoTime();
+                    for (int i = 0; i < iterations; i++) call.accept(logger);
+                    return System.nanoTime() - start;
+                }));
+            }
+            long total = 0;
+            for (Future<Long> future : elapsed) total += future.get();
+            return (double) total / ((long) threads * iterations);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Logger logger(String name, Level level, Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger(name);
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.setLevel(level);
+        logger.addAppender(appender);
+        return logger;
+    }
+
+    private Appender<ILoggingEvent> fileAppender(String name) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %5p [%t] %logger{39} : %m %kvp%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setName(name);
+        appender.setFile("target/perf/logging-" + name + ".log");
+        appender.setAppend(false);
+        appender.setEncoder(encoder);
+        appender.start();
+        appenders.add(appender);
+        return appender;
+    }
+
+    private Appender<ILoggingEvent> asyncAppender(Appender<ILoggingEvent> delegate) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(context);
+        appender.setName("async");
+        appender.setQueueSize(8192);
+        appender.setNeverBlock(true);
+        appender.setIncludeCallerData(false);
+        appender.addAppender(delegate);
+        appender.start();
+        appenders.add(0, appender);
+        return appender;
+    }
+}
@@ -2,10 +2,14 @@ package com.example.customerservice.service;
 
 import com.example.customerservice.dto.CustomerDTO;
 import com.example.customerservice.entities.Customer;
-import com.example.customerservice.exceptions.CustomerNotFoundException;
-import com.example.customerservice.exceptions.EmailAlreadyExistException;
+import com.example.customerservice.events.CustomerChangedEvent;
 import com.example.customerservice.mapper.CustomerMapper;
 import com.example.customerservice.repository.CustomerRepository;
+import com.example.customerservice.stats.CustomerStatistics;
+import com.example.customerservice.suggest.CustomerSuggestionIndex;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.assertj.core.api.AssertionsForClassTypes;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,9 +17,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,6 +31,14 @@ class CustomerServiceImplTest {
     private CustomerRepository customerRepository;
     @Mock
     private CustomerMapper customerMapper;
+    @Mock
+    private CustomerSuggestionIndex customerSuggestionIndex;
+    @Mock
+    private CustomerStatistics customerStatistics;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private Validator validator;
     @InjectMocks
     private CustomerServiceImpl underTest;
     @Test
@@ -41,9 +55,10 @@ class CustomerServiceImplTest {
         Mockito.when(customerMapper.fromCustomerDTO(customerDTO)).thenReturn(customer);
         Mockito.when(customerRepository.save(customer)).thenReturn(savedCustomer);
         Mockito.when(customerMapper.fromCustomer(savedCustomer)).thenReturn(expected);
-        CustomerDTO result = underTest.saveNewCustomer(customerDTO);
+        CustomerDTO result = underTest.saveNewCustomer(customerDTO).getValue();
         AssertionsForClassTypes.assertThat(result).isNotNull();
         AssertionsForClassTypes.assertThat(expected).usingRecursiveComparison().isEqualTo(result);
+        Mockito.verify(eventPublisher).publishEvent(CustomerChangedEvent.created(expected));
     }
 
     @Test
@@ -53,8 +68,35 @@ class CustomerServiceImplTest {
         Customer customer= Customer.builder()
                 .id(5L).firstName("Ismail").lastName("Matar").email("xxxxx@gmail.com").build();
         Mockito.when(customerRepository.findByEmail(customerDTO.getEmail())).thenReturn(Optional.of(customer));
-        AssertionsForClassTypes.assertThatThrownBy(()->underTest.saveNewCustomer(customerDTO))
-                        .isInstanceOf(EmailAlreadyExistException.class);
+        CustomerResult<CustomerDTO> result = underTest.saveNewCustomer(customerDTO);
+        AssertionsForClassTypes.assertThat(result.getStatus()).isEqualTo(CustomerResult.Status.EMAIL_ALREADY_EXIST);
+        Mockito.verify(customerRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldNotSaveNewCustomerWhenEmailOnlyDiffersByCase() {
+        CustomerDTO customerDTO= CustomerDTO.builder()
+                .firstName("Ismail").lastName("Matar").email(" XXXXX@Gmail.com ").build();
+        Customer customer= Customer.builder()
+                .id(5L).firstName("Ismail").lastName("Matar").email("xxxxx@gmail.com").build();
+        Mockito.when(customerRepository.findByEmail("xxxxx@gmail.com")).thenReturn(Optional.of(customer));
+        CustomerResult<CustomerDTO> result = underTest.saveNewCustomer(customerDTO);
+        AssertionsForClassTypes.assertThat(result.getStatus()).isEqualTo(CustomerResult.Status.EMAIL_ALREADY_EXIST);
+        Mockito.verify(customerRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    void shouldNotSaveInvalidCustomer() {
+        CustomerDTO customerDTO= CustomerDTO.builder().firstName("").lastName("Matar").email("ismail@gmail.com").build();
+        Customer customer= Customer.builder().firstName("").lastName("Matar").email("ismail@gmail.com").build();
+        Set<ConstraintViolation<Customer>> violations = Validation.buildDefaultValidatorFactory().getValidator().validate(customer);
+        Mockito.when(customerMapper.fromCustomerDTO(customerDTO)).thenReturn(customer);
+        Mockito.when(validator.validate(customer)).thenReturn(violations);
+        CustomerResult<CustomerDTO> result = underTest.saveNewCustomer(customerDTO);
+        AssertionsForClassTypes.assertThat(result.getStatus()).isEqualTo(CustomerResult.Status.INVALID);
+        AssertionsForClassTypes.assertThat(result.getViolations().size()).isEqualTo(2);
+        Mockito.verifyNoInteractions(customerRepository, eventPublisher);
     }
 
     @Test
@@ -80,16 +122,17 @@ class CustomerServiceImplTest {
         CustomerDTO expected=CustomerDTO.builder().id(1L).firstName("Mohamed").lastName("Youssfi").email("med@gmail.com").build();
         Mockito.when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
         Mockito.when(customerMapper.fromCustomer(customer)).thenReturn(expected);
-        CustomerDTO result = underTest.findCustomerById(customerId);
+        CustomerDTO result = underTest.findCustomerById(customerId).getValue();
         AssertionsForClassTypes.assertThat(expected).usingRecursiveComparison().isEqualTo(result);
     }
     @Test
     void shouldNotFindCustomerById() {
         Long customerId = 8L;
         Mockito.when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
-        AssertionsForClassTypes.assertThatThrownBy(()->underTest.findCustomerById(customerId))
-                .isInstanceOf(CustomerNotFoundException.class)
-                .hasMessage(null);
+        CustomerResult<CustomerDTO> result = underTest.findCustomerById(customerId);
+        AssertionsForClassTypes.assertThat(result.isOk()).isFalse();
+        AssertionsForClassTypes.assertThat(result.getStatus()).isEqualTo(CustomerResult.Status.NOT_FOUND);
+        AssertionsForClassTypes.assertThat(result.getValue()).isNull();
     }
 
     @Test
@@ -124,7 +167,7 @@ class CustomerServiceImplTest {
         Mockito.when(customerMapper.fromCustomerDTO(customerDTO)).thenReturn(customer);
         Mockito.when(customerRepository.save(customer)).thenReturn(updatedCustomer);
         Mockito.when(customerMapper.fromCustomer(updatedCustomer)).thenReturn(expected);
-        CustomerDTO result = underTest.updateCustomer(customerId,customerDTO);
+        CustomerDTO result = underTest.updateCustomer(customerId,customerDTO).getValue();
         AssertionsForClassTypes.assertThat(result).isNotNull();
         AssertionsForClassTypes.assertThat(expected).usingRecursiveComparison().isEqualTo(result);
     }
@@ -135,14 +178,16 @@ class CustomerServiceImplTest {
         Customer customer= Customer.builder()
                 .id(6L).firstName("Ismail").lastName("Matar").email("ismail@gmail.com").build();
         Mockito.when(customerRepository.findById(customerId)).thenReturn(Optional.of(customer));
-        underTest.deleteCustomer(customerId);
+        AssertionsForClassTypes.assertThat(underTest.deleteCustomer(customerId).isOk()).isTrue();
         Mockito.verify(customerRepository).deleteById(customerId);
+        Mockito.verify(eventPublisher).publishEvent(CustomerChangedEvent.deleted(customerId, "ismail@gmail.com"));
     }
     @Test
     void shouldNotDeleteCustomerIfNotExist() {
         Long customerId =9L;
         Mockito.when(customerRepository.findById(customerId)).thenReturn(Optional.empty());
-        AssertionsForClassTypes.assertThatThrownBy(()->underTest.deleteCustomer(customerId))
-                        .isInstanceOf(CustomerNotFoundException.class);
+        AssertionsForClassTypes.assertThat(underTest.deleteCustomer(customerId).getStatus())
+                .isEqualTo(CustomerResult.Status.NOT_FOUND);
+        Mockito.verify(customerRepository, Mockito.never()).deleteById(Mockito.any());
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.customerservice.sharding;
+
+import org.assertj.core.api.AssertionsForClassTypes;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+class CustomerShardsTest {
+
+    @Test
+    void singleShardShouldOwnEveryId() {
+        for (long id = 1; id <= 100; id++) {
+            AssertionsForClassTypes.assertThat(CustomerShards.shardOf(id, 1)).isZero();
+            AssertionsForClassTypes.assertThat(CustomerShards.nextId(id, 0, 1)).isEqualTo(id + 1);
+        }
+    }
+
+    @Test
+    void idsShouldBeUniqueAndPointBackToTheirShard() {
+        int shardCount = 3;
+        Set<Long> ids = new HashSet<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            long id = CustomerShards.nextId(0, shard, shardCount);
+            for (int i = 0; i < 1000; i++, id += shardCount) {
+                AssertionsForClassTypes.assertThat(ids.add(id)).isTrue();
+                AssertionsForClassTypes.assertThat(CustomerShards.shardOf(id, shardCount)).isEqualTo(shard);
+            }
+        }
+    }
+
+    @Test
+    void restartShouldSkipIdsAlreadyInUse() {
+        for (long maxId = 0; maxId < 20; maxId++) {
+            for (int shard = 0; shard < 3; shard++) {
+                long next = CustomerShards.nextId(maxId, shard, 3);
+                AssertionsForClassTypes.assertThat(next).isGreaterThan(maxId).isLessThanOrEqualTo(maxId + 3);
+                AssertionsForClassTypes.assertThat(CustomerShards.shardOf(next, 3)).isEqualTo(shard);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.customerservice.sharding;
+
+import com.example.customerservice.dto.CustomerDTO;
+import com.example.customerservice.entities.Customer;
+import com.example.customerservice.repository.CustomerRepository;
+import com.example.customerservice.service.CustomerResult;
+import com.example.customerservice.service.CustomerService;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = {
+        "customer.sharding.enabled=true",
+        "customer.sharding.shards[0].url=jdbc:h2:mem:customers-shard-0",
+        "customer.sharding.shards[1].url=jdbc:h2:mem:customers-shard-1",
+        "customer.sharding.shards[2].url=jdbc:h2:mem:customers-shard-2"
+})
+class ShardedCustomerRepositoryTest {
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private CustomerShards customerShards;
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private List<Customer> customers;
+
+    @BeforeEach
+    void setUp() {
+        customers = new ArrayList<>();
+        IntStream.range(0, 30).forEach(i -> customers.add(customerRepository.save(Customer.builder()
+                .firstName("Customer" + i).lastName("Sharded").email("customer" + i + "@gmail.com").build())));
+    }
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void eachCustomerShouldLiveOnTheShardItsIdPointsTo() {
+        List<Integer> usedShards = new ArrayList<>();
+        for (Customer customer : customers) {
+            CustomerShard owner = customerShards.forId(customer.getId());
+            usedShards.add(owner.index());
+            for (CustomerShard shard : customerShards.all()) {
+                boolean exists = shard.read(r -> r.existsById(customer.getId()));
+                Assertions.assertThat(exists).isEqualTo(shard == owner);
+            }
+        }
+        Assertions.assertThat(usedShards).containsOnly(0, 1, 2);
+        Assertions.assertThat(customers).extracting(Customer::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void aRepositoryMethodWithoutRouteShouldFailAtStartup() {
+        Assertions.assertThatThrownBy(() -> ShardedCustomerRepository.requireRoutes(
+                        LastNameQueries.class, Set.of("findByEmail/1")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("LastNameQueries.findByLastName");
+    }
+
+    @Test
+    void shouldMergeAllShardsInIdOrder() {
+        List<Customer> all = customerRepository.findAll();
+        Assertions.assertThat(all).hasSize(30);
+        Assertions.assertThat(all).extracting(Customer::getId).isSorted();
+        Assertions.assertThat(customerRepository.count()).isEqualTo(30);
+        Assertions.assertThat(customerRepository.findByFirstNameContainingIgnoreCase("customer1"))
+                .extracting(Customer::getFirstName)
+                .containsExactlyInAnyOrder("Customer1", "Customer10", "Customer11", "Customer12", "Customer13",
+                        "Customer14", "Customer15", "Customer16", "Customer17", "Customer18", "Customer19");
+    }
+
+    @Test
+    void shouldEnforceEmailUniquenessAcrossShards() {
+        Assertions.assertThat(customerRepository.findByEmail("customer7@gmail.com")).isPresent();
+        Assertions.assertThat(customerService.saveNewCustomer(CustomerDTO.builder()
+                        .firstName("Other").lastName("Customer").email("customer7@gmail.com").build()).getStatus())
+                .isEqualTo(CustomerResult.Status.EMAIL_ALREADY_EXIST);
+        Assertions.assertThatThrownBy(() -> customerRepository.save(Customer.builder()
+                        .firstName("Other").lastName("Customer").email("customer7@gmail.com").build()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void shouldRouteUpdatesAndDeletesById() {
+        Customer customer = customers.get(4);
+        CustomerDTO updated = customerService.updateCustomer(customer.getId(), CustomerDTO.builder()
+                .firstName("Updated").lastName("Sharded").email("updated@gmail.com").build()).getValue();
+        Assertions.assertThat(updated.getId()).isEqualTo(customer.getId());
+        Assertions.assertThat(customerRepository.findByEmail("updated@gmail.com")).isPresent();
+        Assertions.assertThat(customerRepository.findByEmail(customer.getEmail())).isEmpty();
+
+        Assertions.assertThat(customerService.deleteCustomer(customer.getId()).isOk()).isTrue();
+        Assertions.assertThat(customerRepository.findById(customer.getId())).isEmpty();
+        Assertions.assertThat(customerRepository.findByEmail("updated@gmail.com")).isEmpty();
+        Assertions.assertThat(customerRepository.count()).isEqualTo(29);
+    }
+
+    @Test
+    void shardWritesAndEmailClaimsShouldRollBackWithTheServiceTransaction() {
+        Customer customer = customers.get(7);
+        CustomerDTO newCustomer = CustomerDTO.builder()
+                .firstName("RolledBack").lastName("Customer").email("rolled-back@gmail.com").build();
+        Assertions.assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+                    customerService.deleteCustomer(customer.getId());
+                    customerService.saveNewCustomer(newCustomer);
+                    throw new IllegalStateException("rollback");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+        Assertions.assertThat(customerRepository.findById(customer.getId())).isPresent();
+        Assertions.assertThat(customerRepository.findByEmail(customer.getEmail())).isPresent();
+        Assertions.assertThat(customerRepository.findByEmail(newCustomer.getEmail())).isEmpty();
+        Assertions.assertThat(customerShards.directory().size()).isEqualTo(30);
+
+        Assertions.assertThat(customerService.saveNewCustomer(newCustomer).getValue().getEmail()).isEqualTo(newCustomer.getEmail());
+    }
+
+    interface LastNameQueries {
+        Optional<Customer> findByEmail(String email);
+        List<Customer> findByLastName(String lastName);
+    }
+}
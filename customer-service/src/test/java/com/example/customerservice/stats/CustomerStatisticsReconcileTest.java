@@ -0,0 +1,84 @@
+package com.example.customerservice.stats;
+
+import com.example.customerservice.dto.CustomerDTO;
+import com.example.customerservice.dto.CustomerStatisticsDTO;
+import com.example.customerservice.repository.CustomerRepository;
+import com.example.customerservice.service.CustomerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class CustomerStatisticsReconcileTest {
+    @SpyBean
+    private CustomerRepository customerRepository;
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private CustomerStatistics customerStatistics;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        customerRepository.deleteAll();
+        customerStatistics.reconcile();
+    }
+
+    @Test
+    void aCustomerSavedWhileReconcileCountsShouldBeCountedOnce() throws Exception {
+        customerService.saveNewCustomer(customer("med@gmail.com"));
+        customerStatistics.reconcile();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            AtomicReference<Future<?>> concurrentSave = new AtomicReference<>();
+            Mockito.doAnswer(invocation -> {
+                if (concurrentSave.get() == null) {
+                    Future<?> save = executor.submit(() -> customerService.saveNewCustomer(customer("ahmed@gmail.com")));
+                    concurrentSave.set(save);
+                    try {
+                        save.get(500, TimeUnit.MILLISECONDS);
+                    } catch (TimeoutException e) {
+                        // its commit waits for the reconciliation
+                    }
+                }
+                return databaseCount();
+            }).when(customerRepository).count();
+
+            customerStatistics.reconcile();
+            concurrentSave.get().get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        CustomerStatisticsDTO statistics = customerStatistics.statistics(10);
+        assertThat(statistics.getTotalCustomers()).isEqualTo(databaseCount()).isEqualTo(2);
+        assertThat(statistics.getTopEmailDomains())
+                .extracting(CustomerStatisticsDTO.DomainCount::getDomain, CustomerStatisticsDTO.DomainCount::getCount)
+                .containsExactly(tuple("gmail.com", 2L));
+    }
+
+    private long databaseCount() {
+        return jdbcTemplate.queryForObject("select count(*) from customer", Long.class);
+    }
+
+    private static CustomerDTO customer(String email) {
+        return CustomerDTO.builder().firstName("Mohamed").lastName("Youssfi").email(email).build();
+    }
+}
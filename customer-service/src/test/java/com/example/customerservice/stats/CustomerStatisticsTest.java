@@ -0,0 +1,103 @@
+package com.example.customerservice.stats;
+
+import com.example.customerservice.dto.CustomerDTO;
+import com.example.customerservice.dto.CustomerStatisticsDTO;
+import com.example.customerservice.events.CustomerChangedEvent;
+import com.example.customerservice.repository.CustomerRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+class CustomerStatisticsTest {
+    private final CustomerRepository customerRepository = Mockito.mock(CustomerRepository.class);
+    private final CustomerStatistics underTest = new CustomerStatistics(customerRepository,
+            Clock.fixed(Instant.parse("2024-01-15T10:00:00Z"), ZoneOffset.UTC));
+
+    @Test
+    void shouldFollowCreatesUpdatesAndDeletes() {
+        underTest.onCustomerChanged(CustomerChangedEvent.created(customer(1L, "med@gmail.com")));
+        underTest.onCustomerChanged(CustomerChangedEvent.created(customer(2L, "ahmed@gmail.com")));
+        underTest.onCustomerChanged(CustomerChangedEvent.created(customer(3L, "hanane@Yahoo.fr")));
+        underTest.onCustomerChanged(CustomerChangedEvent.updated("ahmed@gmail.com", customer(2L, "ahmed@yahoo.fr")));
+        underTest.onCustomerChanged(CustomerChangedEvent.deleted(1L, "med@gmail.com"));
+
+        CustomerStatisticsDTO statistics = underTest.statistics(10);
+        Assertions.assertThat(statistics.getTotalCustomers()).isEqualTo(2);
+        Assertions.assertThat(statistics.getCreatedLastMinute()).isEqualTo(3);
+        Assertions.assertThat(statistics.getTopEmailDomains())
+                .extracting(CustomerStatisticsDTO.DomainCount::getDomain, CustomerStatisticsDTO.DomainCount::getCount)
+                .containsExactly(Assertions.tuple("yahoo.fr", 2L));
+    }
+
+    @Test
+    void reconcileShouldReplaceCountersWithDatabaseValues() {
+        underTest.onCustomerChanged(CustomerChangedEvent.created(customer(1L, "med@gmail.com")));
+        Mockito.when(customerRepository.count()).thenReturn(5L);
+        Mockito.when(customerRepository.countCustomersByEmailDomain()).thenReturn(List.of(
+                new Object[]{"gmail.com", 3L}, new Object[]{"GMAIL.com", 1L}, new Object[]{"outlook.com", 1L}));
+
+        underTest.reconcile();
+
+        CustomerStatisticsDTO statistics = underTest.statistics(1);
+        Assertions.assertThat(statistics.getTotalCustomers()).isEqualTo(5);
+        Assertions.assertThat(statistics.getLastReconciledAt()).isNotNull();
+        Assertions.assertThat(statistics.getTopEmailDomains())
+                .extracting(CustomerStatisticsDTO.DomainCount::getDomain, CustomerStatisticsDTO.DomainCount::getCount)
+                .containsExactly(Assertions.tuple("gmail.com", 4L));
+    }
+
+    @Test
+    void concurrentCreationsShouldAllBeCountedAcrossSecondBoundaries() throws Exception {
+        // the clock moves one millisecond forward on every read: a new second every 1000 creations
+        AtomicLong millis = new AtomicLong(Instant.parse("2024-01-15T10:00:00Z").toEpochMilli());
+        Clock ticking = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return Instant.ofEpochMilli(millis.getAndIncrement());
+            }
+        };
+        CustomerStatistics statistics = new CustomerStatistics(customerRepository, ticking);
+        int threads = 8;
+        int creationsPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < creationsPerThread; i++) {
+                        statistics.onCustomerChanged(CustomerChangedEvent.created(customer((long) i, "c@gmail.com")));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertThat(statistics.statistics(1).getCreatedLastMinute()).isEqualTo((long) threads * creationsPerThread);
+    }
+
+    private static CustomerDTO customer(Long id, String email) {
+        return CustomerDTO.builder().id(id).firstName("First").lastName("Last").email(email).build();
+    }
+}
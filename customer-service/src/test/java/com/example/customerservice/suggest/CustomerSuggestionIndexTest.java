@@ -0,0 +1,57 @@
+package com.example.customerservice.suggest;
+
+import com.example.customerservice.dto.CustomerDTO;
+import com.example.customerservice.dto.CustomerSuggestionDTO;
+import com.example.customerservice.events.CustomerChangedEvent;
+import com.example.customerservice.repository.CustomerRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+class CustomerSuggestionIndexTest {
+    private final CustomerSuggestionIndex underTest = new CustomerSuggestionIndex(Mockito.mock(CustomerRepository.class));
+
+    @BeforeEach
+    void setUp() {
+        underTest.put(1L, "Mohamed", "Youssfi", "med@gmail.com");
+        underTest.put(2L, "Ahmed", "Yassine", "ahmed@gmail.com");
+        underTest.put(3L, "Hanane", "yamal", "hanane@gmail.com");
+        underTest.put(4L, "Hélène", "Martin", "helene@mail.com");
+    }
+
+    @Test
+    void shouldSuggestByAnyFieldPrefixIgnoringCaseAndAccents() {
+        Assertions.assertThat(ids(underTest.suggest("ya", 10))).containsExactlyInAnyOrder(2L, 3L);
+        Assertions.assertThat(ids(underTest.suggest("MED", 10))).containsExactly(1L);
+        Assertions.assertThat(ids(underTest.suggest("hel", 10))).containsExactly(4L);
+        Assertions.assertThat(ids(underTest.suggest("ahmed@", 10))).containsExactly(2L);
+    }
+
+    @Test
+    void shouldReturnEachCustomerOnceAndHonourLimit() {
+        underTest.put(5L, "Hanane", "Hanane", "hanane.h@gmail.com");
+        Assertions.assertThat(ids(underTest.suggest("hanane", 10))).containsExactlyInAnyOrder(3L, 5L);
+        Assertions.assertThat(underTest.suggest("h", 2)).hasSize(2);
+        Assertions.assertThat(underTest.suggest(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldFollowCustomerChanges() {
+        underTest.onCustomerChanged(CustomerChangedEvent.updated("med@gmail.com", CustomerDTO.builder()
+                .id(1L).firstName("Mohamed").lastName("Idrissi").email("mohamed@gmail.com").build()));
+        Assertions.assertThat(underTest.suggest("youssfi", 10)).isEmpty();
+        Assertions.assertThat(underTest.suggest("idri", 10))
+                .extracting(CustomerSuggestionDTO::getLabel).containsExactly("Mohamed Idrissi <mohamed@gmail.com>");
+
+        underTest.onCustomerChanged(CustomerChangedEvent.deleted(2L, "ahmed@gmail.com"));
+        Assertions.assertThat(underTest.suggest("ahmed", 10)).isEmpty();
+        Assertions.assertThat(underTest.size()).isEqualTo(3);
+    }
+
+    private static List<Long> ids(List<CustomerSuggestionDTO> suggestions) {
+        return suggestions.stream().map(CustomerSuggestionDTO::getId).toList();
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.customerservice.web;
 
 import com.example.customerservice.dto.CustomerDTO;
-import com.example.customerservice.exceptions.CustomerNotFoundException;
+import com.example.customerservice.dto.CustomerStatisticsDTO;
+import com.example.customerservice.dto.CustomerSuggestionDTO;
+import com.example.customerservice.entities.Customer;
+import com.example.customerservice.idempotency.IdempotencyStore;
+import com.example.customerservice.service.CustomerResult;
 import com.example.customerservice.service.CustomerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +16,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,6 +27,7 @@ import java.util.List;
 
 @ActiveProfiles("test")
 @WebMvcTest(CustomerRestController.class)
+@Import(IdempotencyStore.class)
 class CustomerRestControllerTest {
     @MockBean
     private CustomerService customerService;
@@ -52,7 +59,7 @@ class CustomerRestControllerTest {
     @Test
     void shouldGetCustomerById() throws Exception {
         Long id = 1L;
-        Mockito.when(customerService.findCustomerById(id)).thenReturn(customers.get(0));
+        Mockito.when(customerService.findCustomerById(id)).thenReturn(CustomerResult.ok(customers.get(0)));
         mockMvc.perform(MockMvcRequestBuilders.get("/api/customers/{id}",id))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(customers.get(0))));
@@ -61,7 +68,7 @@ class CustomerRestControllerTest {
     @Test
     void shouldNotGetCustomerByInvalidId() throws Exception {
         Long id = 9L;
-        Mockito.when(customerService.findCustomerById(id)).thenThrow(CustomerNotFoundException.class);
+        Mockito.when(customerService.findCustomerById(id)).thenReturn(CustomerResult.notFound());
         mockMvc.perform(MockMvcRequestBuilders.get("/api/customers/{id}",id))
                 .andExpect(MockMvcResultMatchers.status().isNotFound())
                 .andExpect(MockMvcResultMatchers.content().string(""));
@@ -77,6 +84,28 @@ class CustomerRestControllerTest {
                 .andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(customers)));
     }
 
+    @Test
+    void shouldSuggestCustomers() throws Exception {
+        List<CustomerSuggestionDTO> suggestions = List.of(new CustomerSuggestionDTO(1L, "Mohamed Youssfi <med@gmail.com>"));
+        Mockito.when(customerService.suggestCustomers("mo", 5)).thenReturn(suggestions);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/customers/suggest?prefix=mo&limit=5"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(suggestions)));
+    }
+
+    @Test
+    void shouldGetCustomerStatistics() throws Exception {
+        CustomerStatisticsDTO statistics = CustomerStatisticsDTO.builder()
+                .totalCustomers(3).createdLastMinute(1).creationRatePerSecond(1 / 60.0)
+                .topEmailDomains(List.of(new CustomerStatisticsDTO.DomainCount("gmail.com", 3)))
+                .build();
+        Mockito.when(customerService.getCustomerStatistics(5)).thenReturn(statistics);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/customers/stats?top=5"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalCustomers", Matchers.is(3)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.topEmailDomains[0].domain", Matchers.is("gmail.com")));
+    }
+
     @Test
     void shouldSaveCustomer() throws Exception {
         CustomerDTO customerDTO= customers.get(0);
@@ -85,7 +114,7 @@ class CustomerRestControllerTest {
                   "id":1, "firstName":"Mohamed", "lastName":"Youssfi", "email":"med@gmail.com"
                 }
                 """;
-        Mockito.when(customerService.saveNewCustomer(Mockito.any())).thenReturn(customers.get(0));
+        Mockito.when(customerService.saveNewCustomer(Mockito.any())).thenReturn(CustomerResult.ok(customers.get(0)));
         mockMvc.perform(MockMvcRequestBuilders.post("/api/customers")
                         .contentType(MediaType.APPLICATION_JSON_VALUE)
                         .content(objectMapper.writeValueAsString(customerDTO)))
@@ -93,11 +122,89 @@ class CustomerRestControllerTest {
                 .andExpect(MockMvcResultMatchers.content().json(expected));
     }
 
+    @Test
+    void shouldNotSaveCustomerWhenEmailExist() throws Exception {
+        Mockito.when(customerService.saveNewCustomer(Mockito.any())).thenReturn(CustomerResult.emailAlreadyExist());
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/customers")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(customers.get(0))))
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email[0]", Matchers.is("This email already exist")));
+    }
+
+    @Test
+    void shouldNotSaveInvalidCustomer() throws Exception {
+        Customer invalid = Customer.builder().firstName("").lastName("Youssfi").email("med@gmail.com").build();
+        Mockito.when(customerService.saveNewCustomer(Mockito.any())).thenReturn(
+                CustomerResult.invalid(Validation.buildDefaultValidatorFactory().getValidator().validate(invalid)));
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/customers")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(invalid)))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size()", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.firstName.size()", Matchers.is(2)));
+    }
+
+    @Test
+    void shouldAnswerTheSameConflictWithAnIdempotencyKey() throws Exception {
+        Mockito.when(customerService.saveNewCustomer(Mockito.any())).thenReturn(CustomerResult.emailAlreadyExist());
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/customers")
+                        .header("Idempotency-Key", "conflicting-key")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(customers.get(0))))
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.email[0]", Matchers.is("This email already exist")));
+    }
+
+    @Test
+    void shouldReplaySaveCustomerWithSameIdempotencyKey() throws Exception {
+        CustomerDTO customerDTO= customers.get(0);
+        Mockito.when(customerService.saveNewCustomer(Mockito.any())).thenReturn(CustomerResult.ok(customers.get(0)));
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/api/customers")
+                            .header("Idempotency-Key", "3f0c9a57-retry")
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content(objectMapper.writeValueAsString(customerDTO)))
+                    .andExpect(MockMvcResultMatchers.status().isCreated())
+                    .andExpect(MockMvcResultMatchers.content().json(objectMapper.writeValueAsString(customers.get(0))));
+        }
+        Mockito.verify(customerService, Mockito.times(1)).saveNewCustomer(Mockito.any());
+    }
+
+    @Test
+    void shouldReplaySaveCustomerWhoseEmailOnlyDiffersByCase() throws Exception {
+        Mockito.when(customerService.saveNewCustomer(Mockito.any())).thenReturn(CustomerResult.ok(customers.get(0)));
+        for (String email : List.of("med@gmail.com", " MED@Gmail.com ")) {
+            CustomerDTO customerDTO= CustomerDTO.builder().firstName("Mohamed").lastName("Youssfi").email(email).build();
+            mockMvc.perform(MockMvcRequestBuilders.post("/api/customers")
+                            .header("Idempotency-Key", "case-retry")
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content(objectMapper.writeValueAsString(customerDTO)))
+                    .andExpect(MockMvcResultMatchers.status().isCreated());
+        }
+        Mockito.verify(customerService, Mockito.times(1)).saveNewCustomer(Mockito.any());
+    }
+
+    @Test
+    void shouldRejectIdempotencyKeyReusedForAnotherCustomer() throws Exception {
+        Mockito.when(customerService.saveNewCustomer(Mockito.any())).thenReturn(CustomerResult.ok(customers.get(0)));
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/customers")
+                        .header("Idempotency-Key", "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(customers.get(0))))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/customers")
+                        .header("Idempotency-Key", "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content(objectMapper.writeValueAsString(customers.get(1))))
+                .andExpect(MockMvcResultMatchers.status().isUnprocessableEntity());
+    }
+
     @Test
     void testUpdateCustomer() throws Exception {
         Long customerId=1L;
         CustomerDTO customerDTO= customers.get(0);
-        Mockito.when(customerService.updateCustomer(Mockito.eq(customerId),Mockito.any())).thenReturn(customers.get(0));
+        Mockito.when(customerService.updateCustomer(Mockito.eq(customerId),Mockito.any())).thenReturn(CustomerResult.ok(customers.get(0)));
         mockMvc.perform(MockMvcRequestBuilders.put("/api/customers/{id}", customerId)
                         .contentType(MediaType.APPLICATION_JSON_VALUE)
                         .content(objectMapper.writeValueAsString(customerDTO)))
@@ -107,7 +214,15 @@ class CustomerRestControllerTest {
     @Test
     void shouldDeleteCustomer() throws Exception {
         Long customerId=1L;
+        Mockito.when(customerService.deleteCustomer(customerId)).thenReturn(CustomerResult.ok());
         mockMvc.perform(MockMvcRequestBuilders.delete("/api/customers/{id}",customerId))
                 .andExpect(MockMvcResultMatchers.status().isNoContent());
     }
+    @Test
+    void shouldNotDeleteCustomerIfNotExist() throws Exception {
+        Long customerId=9L;
+        Mockito.when(customerService.deleteCustomer(customerId)).thenReturn(CustomerResult.notFound());
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/customers/{id}",customerId))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
 }
\ No newline at end of file